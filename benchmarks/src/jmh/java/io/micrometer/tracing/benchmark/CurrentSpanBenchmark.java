@@ -0,0 +1,83 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.benchmark;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up the current span and trace context while a span is in scope. Compare
+ * {@code gc.alloc.rate.norm} between revisions to see the bytes spent on wrapping the
+ * tracer's current span.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class CurrentSpanBenchmark {
+
+    @Param({ "BRAVE", "OTEL" })
+    TracerSetup tracerSetup;
+
+    TracerSetup.Instance tracing;
+
+    Tracer tracer;
+
+    Span span;
+
+    Tracer.SpanInScope spanInScope;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.tracing = this.tracerSetup.create();
+        this.tracer = this.tracing.tracer();
+        this.span = this.tracer.nextSpan().name("span").start();
+        this.spanInScope = this.tracer.withSpan(this.span);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.spanInScope.close();
+        this.span.end();
+        this.tracing.close();
+    }
+
+    @Benchmark
+    public Span currentSpan() {
+        return this.tracer.currentSpan();
+    }
+
+    @Benchmark
+    public TraceContext currentTraceContext() {
+        return this.tracer.currentTraceContext().context();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(CurrentSpanBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,219 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.benchmark;
+
+import brave.Tracing;
+import brave.handler.SpanHandler;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.brave.bridge.BraveBaggageManager;
+import io.micrometer.tracing.brave.bridge.BraveCurrentTraceContext;
+import io.micrometer.tracing.brave.bridge.BravePropagator;
+import io.micrometer.tracing.brave.bridge.BraveTracer;
+import io.micrometer.tracing.otel.bridge.OtelBaggageManager;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.micrometer.tracing.propagation.Propagator;
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+
+import java.io.Closeable;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracer implementations that the benchmarks run against. Every setup samples all spans
+ * and reports them to a no-op sink, so that the full recording path is measured without
+ * any I/O.
+ */
+public enum TracerSetup {
+
+    /**
+     * Brave bridge.
+     */
+    BRAVE {
+        @Override
+        public Instance create() {
+            Tracing tracing = Tracing.newBuilder()
+                .sampler(brave.sampler.Sampler.ALWAYS_SAMPLE)
+                .addSpanHandler(new SpanHandler() {
+                })
+                .build();
+            Tracer tracer = new BraveTracer(tracing.tracer(),
+                    new BraveCurrentTraceContext(tracing.currentTraceContext()), new BraveBaggageManager());
+            return new Instance(tracer, new BravePropagator(tracing), () -> {
+            }, tracing::close);
+        }
+    },
+
+    /**
+     * OpenTelemetry bridge.
+     */
+    OTEL {
+        @Override
+        public Instance create() {
+            SdkTracerProvider sdkTracerProvider = SdkTracerProvider.builder()
+                .setSampler(Sampler.alwaysOn())
+                .addSpanProcessor(SimpleSpanProcessor.create(new NoOpSpanExporter()))
+                .build();
+            io.opentelemetry.api.trace.Tracer otelTracer = sdkTracerProvider.get("io.micrometer.micrometer-tracing");
+            OtelCurrentTraceContext otelCurrentTraceContext = new OtelCurrentTraceContext();
+            Tracer tracer = new OtelTracer(otelTracer, otelCurrentTraceContext, event -> {
+            }, new OtelBaggageManager(otelCurrentTraceContext, Collections.emptyList(), Collections.emptyList()));
+            Propagator propagator = new OtelPropagator(
+                    ContextPropagators.create(W3CTraceContextPropagator.getInstance()), otelTracer);
+            return new Instance(tracer, propagator, () -> {
+            }, sdkTracerProvider::close);
+        }
+    },
+
+    /**
+     * Test {@link SimpleTracer}, used as a baseline for the cost of the handlers
+     * themselves. It retains every created span, so benchmarks should
+     * {@link Instance#reset() reset} it after each iteration.
+     */
+    SIMPLE {
+        @Override
+        public Instance create() {
+            SimpleTracer tracer = new SimpleTracer();
+            return new Instance(tracer, new SimplePropagator(tracer), () -> clearSimpleTracer(tracer), () -> {
+            });
+        }
+    };
+
+    private static void clearSimpleTracer(SimpleTracer tracer) {
+        tracer.getSpans().clear();
+        try {
+            // SimpleTracer binds every span to its context in a static map
+            Field field = SimpleTracer.class.getDeclaredField("traceContextToSpans");
+            field.setAccessible(true);
+            ((Map<?, ?>) field.get(null)).clear();
+        }
+        catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Creates a new tracing setup. The caller is responsible for closing it.
+     * @return tracing setup
+     */
+    public abstract Instance create();
+
+    /**
+     * Tracer together with its propagator.
+     */
+    public static final class Instance implements Closeable {
+
+        private final Tracer tracer;
+
+        private final Propagator propagator;
+
+        private final Runnable onReset;
+
+        private final Runnable onClose;
+
+        Instance(Tracer tracer, Propagator propagator, Runnable onReset, Runnable onClose) {
+            this.tracer = tracer;
+            this.propagator = propagator;
+            this.onReset = onReset;
+            this.onClose = onClose;
+        }
+
+        public Tracer tracer() {
+            return this.tracer;
+        }
+
+        public Propagator propagator() {
+            return this.propagator;
+        }
+
+        /**
+         * Drops any state the tracer retained for finished spans.
+         */
+        public void reset() {
+            this.onReset.run();
+        }
+
+        @Override
+        public void close() {
+            reset();
+            this.onClose.run();
+        }
+
+    }
+
+    private static final class NoOpSpanExporter implements SpanExporter {
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+    }
+
+    /**
+     * {@link SimpleTracer} has no propagation support, this one only continues the
+     * trace in the same process.
+     */
+    private static final class SimplePropagator implements Propagator {
+
+        private final SimpleTracer tracer;
+
+        SimplePropagator(SimpleTracer tracer) {
+            this.tracer = tracer;
+        }
+
+        @Override
+        public List<String> fields() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public <C> void inject(TraceContext context, C carrier, Setter<C> setter) {
+
+        }
+
+        @Override
+        public <C> Span.Builder extract(C carrier, Getter<C> getter) {
+            return this.tracer.spanBuilder();
+        }
+
+    }
+
+}
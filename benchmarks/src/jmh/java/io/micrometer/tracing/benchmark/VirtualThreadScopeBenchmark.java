@@ -0,0 +1,131 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.benchmark;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.ThreadLocalSpan;
+import io.micrometer.tracing.Tracer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens and closes scopes on a large number of short-lived tasks. On a JDK with virtual
+ * threads every task runs on its own virtual thread, on older JDKs a fixed pool of
+ * platform threads is used instead. Compare {@code gc.alloc.rate.norm} between revisions
+ * to see the per-thread bookkeeping retained by the scope storage.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class VirtualThreadScopeBenchmark {
+
+    @Param({ "BRAVE", "OTEL" })
+    TracerSetup tracerSetup;
+
+    @Param({ "1000000" })
+    int tasks;
+
+    TracerSetup.Instance instance;
+
+    Tracer tracer;
+
+    ThreadLocalSpan threadLocalSpan;
+
+    ExecutorService executor;
+
+    @Setup
+    public void setup() {
+        this.instance = this.tracerSetup.create();
+        this.tracer = this.instance.tracer();
+        this.threadLocalSpan = new ThreadLocalSpan(this.tracer);
+        this.executor = newExecutor();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        this.executor.shutdown();
+        this.executor.awaitTermination(1, TimeUnit.MINUTES);
+        this.instance.close();
+    }
+
+    @Benchmark
+    public long withSpan() throws InterruptedException {
+        return run(() -> {
+            Span span = this.tracer.nextSpan().name("virtual");
+            try (Tracer.SpanInScope ws = this.tracer.withSpan(span.start())) {
+                span.tag("thread", "virtual");
+            }
+            finally {
+                span.end();
+            }
+        });
+    }
+
+    @Benchmark
+    public long threadLocalSpan() throws InterruptedException {
+        return run(() -> {
+            Span span = this.tracer.nextSpan().name("virtual").start();
+            this.threadLocalSpan.set(span);
+            this.threadLocalSpan.get().getSpan().tag("thread", "virtual");
+            this.threadLocalSpan.remove().getSpan().end();
+        });
+    }
+
+    private long run(Runnable task) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(this.tasks);
+        for (int i = 0; i < this.tasks; i++) {
+            this.executor.execute(() -> {
+                try {
+                    task.run();
+                }
+                finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        return latch.getCount();
+    }
+
+    private static ExecutorService newExecutor() {
+        try {
+            // Executors.newVirtualThreadPerTaskExecutor() is only available on JDK 21+
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (ReflectiveOperationException ex) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(VirtualThreadScopeBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+
+}
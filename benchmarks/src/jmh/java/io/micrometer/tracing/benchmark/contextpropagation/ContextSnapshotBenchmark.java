@@ -0,0 +1,119 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.benchmark.contextpropagation;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.benchmark.TracerSetup;
+import io.micrometer.tracing.contextpropagation.ObservationAwareSpanThreadLocalAccessor;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Captures and restores a {@link ContextSnapshot} through the
+ * {@link ObservationAwareSpanThreadLocalAccessor}, the way every thread hop does, either
+ * with a manually scoped span or with an observation in scope.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ContextSnapshotBenchmark {
+
+    @Param({ "BRAVE", "OTEL" })
+    TracerSetup tracerSetup;
+
+    @Param({ "SPAN", "OBSERVATION" })
+    String inScope;
+
+    TracerSetup.Instance tracing;
+
+    ObservationRegistry observationRegistry;
+
+    ContextSnapshotFactory contextSnapshotFactory;
+
+    Span span;
+
+    Tracer.SpanInScope spanInScope;
+
+    Observation observation;
+
+    Observation.Scope observationScope;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.tracing = this.tracerSetup.create();
+        Tracer tracer = this.tracing.tracer();
+        this.observationRegistry = ObservationRegistry.create();
+        this.observationRegistry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+        ContextRegistry contextRegistry = new ContextRegistry().loadThreadLocalAccessors()
+            .registerThreadLocalAccessor(new ObservationAwareSpanThreadLocalAccessor(this.observationRegistry, tracer));
+        this.contextSnapshotFactory = ContextSnapshotFactory.builder().contextRegistry(contextRegistry).build();
+        if ("OBSERVATION".equals(this.inScope)) {
+            this.observation = Observation.start("observation", this.observationRegistry);
+            this.observationScope = this.observation.openScope();
+        }
+        else {
+            this.span = tracer.nextSpan().name("span").start();
+            this.spanInScope = tracer.withSpan(this.span);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (this.observation != null) {
+            this.observationScope.close();
+            this.observation.stop();
+        }
+        else {
+            this.spanInScope.close();
+            this.span.end();
+        }
+        this.tracing.close();
+    }
+
+    @Benchmark
+    public ContextSnapshot capture() {
+        return this.contextSnapshotFactory.captureAll();
+    }
+
+    @Benchmark
+    public ContextSnapshot captureAndRestore() {
+        ContextSnapshot snapshot = this.contextSnapshotFactory.captureAll();
+        try (ContextSnapshot.Scope scope = snapshot.setThreadLocals()) {
+            return snapshot;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(ContextSnapshotBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+
+}
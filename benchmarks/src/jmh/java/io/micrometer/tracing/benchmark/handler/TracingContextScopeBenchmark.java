@@ -0,0 +1,71 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.benchmark.handler;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.handler.TracingObservationHandler;
+import io.micrometer.tracing.handler.TracingObservationHandler.TracingContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Isolates the cost of tracking scopes on the {@link TracingContext} of an observation:
+ * a no-op tracer is used, so what remains is the bookkeeping done by the handler. Compare
+ * {@code gc.alloc.rate.norm} between revisions to see the bytes spent per observation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TracingContextScopeBenchmark {
+
+    TracingObservationHandler<Observation.Context> handler = () -> Tracer.NOOP;
+
+    @Benchmark
+    public TracingContext singleScope() {
+        TracingContext tracingContext = new TracingContext();
+        tracingContext.setSpan(Span.NOOP);
+        this.handler.setMaybeScopeOnTracingContext(tracingContext, Span.NOOP);
+        tracingContext.getScope().close();
+        return tracingContext;
+    }
+
+    @Benchmark
+    public TracingContext nestedScopes() {
+        TracingContext tracingContext = new TracingContext();
+        tracingContext.setSpan(Span.NOOP);
+        this.handler.setMaybeScopeOnTracingContext(tracingContext, Span.NOOP);
+        this.handler.setMaybeScopeOnTracingContext(tracingContext, null);
+        tracingContext.getScope().close();
+        tracingContext.getScope().close();
+        return tracingContext;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(TracingContextScopeBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.benchmark.handler;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.transport.ReceiverContext;
+import io.micrometer.observation.transport.SenderContext;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.benchmark.TracerSetup;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingReceiverTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingSenderTracingObservationHandler;
+import io.micrometer.tracing.handler.TracingObservationHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-observation overhead of the tracing handlers: start, scope opened,
+ * scope closed and stop, as driven by the {@link Observation} API.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TracingObservationHandlerBenchmark {
+
+    @Param({ "BRAVE", "OTEL", "SIMPLE" })
+    TracerSetup tracerSetup;
+
+    TracerSetup.Instance tracing;
+
+    DefaultTracingObservationHandler defaultHandler;
+
+    PropagatingSenderTracingObservationHandler<SenderContext<Map<String, String>>> senderHandler;
+
+    PropagatingReceiverTracingObservationHandler<ReceiverContext<Map<String, String>>> receiverHandler;
+
+    Map<String, String> receivedCarrier;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.tracing = this.tracerSetup.create();
+        this.defaultHandler = new DefaultTracingObservationHandler(this.tracing.tracer());
+        this.senderHandler = new PropagatingSenderTracingObservationHandler<>(this.tracing.tracer(),
+                this.tracing.propagator());
+        this.receiverHandler = new PropagatingReceiverTracingObservationHandler<>(this.tracing.tracer(),
+                this.tracing.propagator());
+        this.receivedCarrier = new HashMap<>();
+        Span remoteParent = this.tracing.tracer().nextSpan().start();
+        this.tracing.propagator().inject(remoteParent.context(), this.receivedCarrier, Map::put);
+        remoteParent.end();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reset() {
+        this.tracing.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        this.tracing.close();
+    }
+
+    @Benchmark
+    public Observation.Context defaultHandler() {
+        Observation.Context context = new Observation.Context();
+        context.setName("benchmark.observation");
+        context.addLowCardinalityKeyValue(KeyValue.of("low", "value"));
+        return runLifecycle(this.defaultHandler, context);
+    }
+
+    @Benchmark
+    public SenderContext<Map<String, String>> senderHandler() {
+        SenderContext<Map<String, String>> context = new SenderContext<>(Map::put);
+        context.setCarrier(new HashMap<>());
+        context.setName("benchmark.sender");
+        context.setRemoteServiceName("remote-service");
+        return runLifecycle(this.senderHandler, context);
+    }
+
+    @Benchmark
+    public ReceiverContext<Map<String, String>> receiverHandler() {
+        ReceiverContext<Map<String, String>> context = new ReceiverContext<>(Map::get);
+        context.setCarrier(this.receivedCarrier);
+        context.setName("benchmark.receiver");
+        return runLifecycle(this.receiverHandler, context);
+    }
+
+    private static <T extends Observation.Context> T runLifecycle(TracingObservationHandler<T> handler, T context) {
+        handler.onStart(context);
+        handler.onScopeOpened(context);
+        handler.onScopeClosed(context);
+        handler.onStop(context);
+        return context;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(TracingObservationHandlerBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.benchmark.otel;
+
+import io.micrometer.tracing.otel.bridge.EventListener;
+import io.micrometer.tracing.otel.bridge.EventPublishingContextWrapper;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.ContextStorage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures attaching and closing a scope through {@link EventPublishingContextWrapper}
+ * with zero, one and two listeners. The first listener only reacts to attached scopes,
+ * the second one to all scope events. {@code publisher=plain} publishes through a
+ * publisher that does not declare which events it supports, i.e. the behaviour before
+ * listeners could opt out of event types.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class EventPublishingContextWrapperBenchmark {
+
+    private static final ContextKey<String> KEY = ContextKey.named("benchmark");
+
+    @Param({ "0", "1", "2" })
+    int listeners;
+
+    @Param({ "listeners", "plain" })
+    String publisher;
+
+    ContextStorage storage;
+
+    Context context;
+
+    Object lastEvent;
+
+    @Setup
+    public void setup() {
+        List<EventListener> eventListeners = new ArrayList<>();
+        if (this.listeners > 0) {
+            eventListeners.add(new EventListener() {
+                @Override
+                public void onEvent(Object event) {
+                    lastEvent = event;
+                }
+
+                @Override
+                public boolean supportsEventType(Class<?> eventType) {
+                    return eventType == EventPublishingContextWrapper.ScopeAttachedEvent.class;
+                }
+            });
+        }
+        if (this.listeners > 1) {
+            eventListeners.add(event -> this.lastEvent = event);
+        }
+        OtelTracer.EventPublisher eventPublisher = "plain".equals(this.publisher)
+                ? event -> eventListeners.forEach(listener -> listener.onEvent(event))
+                : OtelTracer.EventPublisher.of(eventListeners);
+        this.storage = new EventPublishingContextWrapper(eventPublisher).apply(new SimpleContextStorage());
+        this.context = Context.root().with(KEY, "value");
+    }
+
+    @Benchmark
+    public Context attachAndClose() {
+        io.opentelemetry.context.Scope scope = this.storage.attach(this.context);
+        Context current = this.storage.current();
+        scope.close();
+        return current;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(EventPublishingContextWrapperBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+
+    static class SimpleContextStorage implements ContextStorage {
+
+        Context current = Context.root();
+
+        @Override
+        public io.opentelemetry.context.Scope attach(Context toAttach) {
+            Context previous = this.current;
+            if (previous == toAttach) {
+                return io.opentelemetry.context.Scope.noop();
+            }
+            this.current = toAttach;
+            return () -> this.current = previous;
+        }
+
+        @Override
+        public Context current() {
+            return this.current;
+        }
+
+    }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.benchmark.otel;
+
+import io.micrometer.tracing.CurrentTraceContext;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.benchmark.TracerSetup;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens and closes scopes through {@link OtelCurrentTraceContext#maybeScope(TraceContext)}
+ * the way the observation handlers do on every scope opened event, both for the span that
+ * is already in scope and for one that is not.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class OtelCurrentTraceContextBenchmark {
+
+    TracerSetup.Instance tracing;
+
+    CurrentTraceContext currentTraceContext;
+
+    Span parent;
+
+    Span child;
+
+    TraceContext parentContext;
+
+    TraceContext childContext;
+
+    CurrentTraceContext.Scope parentScope;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.tracing = TracerSetup.OTEL.create();
+        Tracer tracer = this.tracing.tracer();
+        this.currentTraceContext = tracer.currentTraceContext();
+        this.parent = tracer.nextSpan().name("parent").start();
+        this.child = tracer.nextSpan().name("child").start();
+        this.parentContext = this.parent.context();
+        this.childContext = this.child.context();
+        this.parentScope = this.currentTraceContext.maybeScope(this.parentContext);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.child.end();
+        this.parentScope.close();
+        this.parent.end();
+        this.tracing.close();
+    }
+
+    @Benchmark
+    public CurrentTraceContext.Scope sameSpanInScope() {
+        try (CurrentTraceContext.Scope scope = this.currentTraceContext.maybeScope(this.parentContext)) {
+            return scope;
+        }
+    }
+
+    @Benchmark
+    public CurrentTraceContext.Scope otherSpanInScope() {
+        try (CurrentTraceContext.Scope scope = this.currentTraceContext.maybeScope(this.childContext)) {
+            return scope;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(OtelCurrentTraceContextBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.benchmark.sampler;
+
+import brave.sampler.Sampler;
+import io.micrometer.tracing.brave.sampler.PerThreadProbabilityBasedSampler;
+import io.micrometer.tracing.brave.sampler.ProbabilityBasedSampler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of probability based sampling decisions when all threads share a single
+ * sampler, as they do in an application. Run with increasing thread counts (see
+ * {@link #main(String[])} or {@code -t}) to compare how the samplers scale.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ProbabilitySamplerBenchmark {
+
+    @Param({ "0.1", "0.001" })
+    float probability;
+
+    Sampler probabilityBasedSampler;
+
+    Sampler perThreadProbabilityBasedSampler;
+
+    @Setup
+    public void setup() {
+        this.probabilityBasedSampler = new ProbabilityBasedSampler(() -> this.probability);
+        this.perThreadProbabilityBasedSampler = new PerThreadProbabilityBasedSampler(() -> this.probability);
+    }
+
+    @Benchmark
+    public boolean probabilityBasedSampler() {
+        return this.probabilityBasedSampler.isSampled(ThreadLocalRandom.current().nextLong());
+    }
+
+    @Benchmark
+    public boolean perThreadProbabilityBasedSampler() {
+        return this.perThreadProbabilityBasedSampler.isSampled(ThreadLocalRandom.current().nextLong());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] { 1, 2, 4, 8, 16, 32, 64 }) {
+            Options options = new OptionsBuilder().include(ProbabilitySamplerBenchmark.class.getSimpleName())
+                .threads(threads)
+                .build();
+            new Runner(options).run();
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.brave.bridge;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.common.util.internal.logging.InternalLogger;
+import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.tracing.exporter.FinishedSpan;
+import io.micrometer.tracing.exporter.SpanReporter;
+
+/**
+ * Hands finished spans to a bounded queue that a dedicated thread drains into the
+ * {@link SpanReporter reporters}.
+ */
+class AsyncSpanReporterDispatcher implements Closeable {
+
+    private static final InternalLogger log = InternalLoggerFactory.getInstance(AsyncSpanReporterDispatcher.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000L;
+
+    private final List<SpanReporter> reporters;
+
+    private final BlockingQueue<FinishedSpan> queue;
+
+    private final CompositeSpanHandler.OverflowPolicy overflowPolicy;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private final Thread worker;
+
+    private final LongAdder droppedSpans = new LongAdder();
+
+    @Nullable
+    private volatile ReportListener reportListener;
+
+    AsyncSpanReporterDispatcher(List<SpanReporter> reporters, int queueSize,
+            CompositeSpanHandler.OverflowPolicy overflowPolicy) {
+        this.reporters = reporters;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.overflowPolicy = overflowPolicy;
+        this.worker = new Thread(this::drain, "micrometer-tracing-span-reporter");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    void dispatch(FinishedSpan span) {
+        if (this.closed.get()) {
+            dropped();
+            return;
+        }
+        if (this.queue.offer(span)) {
+            return;
+        }
+        switch (this.overflowPolicy) {
+            case DROP_OLDEST:
+                if (this.queue.poll() != null) {
+                    dropped();
+                }
+                if (!this.queue.offer(span)) {
+                    dropped();
+                }
+                break;
+            case CALLER_RUNS:
+                report(span);
+                break;
+            default:
+                dropped();
+        }
+    }
+
+    private void dropped() {
+        this.droppedSpans.increment();
+    }
+
+    int queuedSpans() {
+        return this.queue.size();
+    }
+
+    long droppedSpans() {
+        return this.droppedSpans.sum();
+    }
+
+    void setReportListener(@Nullable ReportListener reportListener) {
+        this.reportListener = reportListener;
+    }
+
+    private void drain() {
+        while (!this.closed.get() || !this.queue.isEmpty()) {
+            try {
+                FinishedSpan span = this.queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (span != null) {
+                    report(span);
+                }
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void report(FinishedSpan span) {
+        ReportListener reportListener = this.reportListener;
+        for (int i = 0; i < this.reporters.size(); i++) {
+            long start = System.nanoTime();
+            try {
+                this.reporters.get(i).report(span);
+            }
+            catch (Exception ex) {
+                log.warn("Exception occurred while reporting span " + span, ex);
+            }
+            finally {
+                if (reportListener != null) {
+                    reportListener.reported(i, System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting spans and waits for the queued ones to be reported.
+     */
+    @Override
+    public void close() {
+        if (!this.closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.worker.join(CLOSE_TIMEOUT_MILLIS);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        this.worker.interrupt();
+    }
+
+    /**
+     * Notified every time a reporter has been called.
+     */
+    interface ReportListener {
+
+        /**
+         * Called after a reporter has been called, even when it failed.
+         * @param reporterIndex index of the reporter
+         * @param durationNanos time spent in the reporter
+         */
+        void reported(int reporterIndex, long durationNanos);
+
+    }
+
+}
@@ -30,6 +30,13 @@ import java.util.concurrent.ExecutorService;
  */
 public class BraveCurrentTraceContext implements CurrentTraceContext {
 
+    /**
+     * Wrapper of the last context returned on the current thread. Brave contexts are
+     * immutable, so the wrapper can be reused as long as the same context is current.
+     * Cleared when no context is current so that idle threads don't hold on to it.
+     */
+    private static final ThreadLocal<BraveTraceContext> lastContext = new ThreadLocal<>();
+
     final brave.propagation.CurrentTraceContext delegate;
 
     /**
@@ -62,9 +69,15 @@ public class BraveCurrentTraceContext implements CurrentTraceContext {
     public TraceContext context() {
         brave.propagation.TraceContext context = this.delegate.get();
         if (context == null) {
+            lastContext.remove();
             return null;
         }
-        return new io.micrometer.tracing.brave.bridge.BraveTraceContext(context);
+        BraveTraceContext braveTraceContext = lastContext.get();
+        if (braveTraceContext == null || braveTraceContext.traceContext != context) {
+            braveTraceContext = new BraveTraceContext(context);
+            lastContext.set(braveTraceContext);
+        }
+        return braveTraceContext;
     }
 
     @Override
@@ -24,6 +24,7 @@ import io.micrometer.tracing.exporter.FinishedSpan;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -34,6 +35,11 @@ import java.util.stream.Collectors;
  */
 public class BraveFinishedSpan implements FinishedSpan {
 
+    private static final MutableSpan.TagConsumer<BiConsumer<String, String>> TAG_CONSUMER = BiConsumer::accept;
+
+    private static final MutableSpan.AnnotationConsumer<BiConsumer<Long, String>> ANNOTATION_CONSUMER = (consumer,
+            timestamp, value) -> consumer.accept(timestamp, value);
+
     private final MutableSpan mutableSpan;
 
     /**
@@ -99,6 +105,16 @@ public class BraveFinishedSpan implements FinishedSpan {
         return this.mutableSpan.tags();
     }
 
+    @Override
+    public String getTag(String key) {
+        return this.mutableSpan.tag(key);
+    }
+
+    @Override
+    public void forEachTag(BiConsumer<String, String> consumer) {
+        this.mutableSpan.forEachTag(TAG_CONSUMER, consumer);
+    }
+
     @Override
     public FinishedSpan setEvents(Collection<Map.Entry<Long, String>> events) {
         this.mutableSpan.annotations().clear();
@@ -111,6 +127,11 @@ public class BraveFinishedSpan implements FinishedSpan {
         return this.mutableSpan.annotations();
     }
 
+    @Override
+    public void forEachEvent(BiConsumer<Long, String> consumer) {
+        this.mutableSpan.forEachAnnotation(ANNOTATION_CONSUMER, consumer);
+    }
+
     @Override
     public String getSpanId() {
         return this.mutableSpan.id();
@@ -18,6 +18,9 @@ package io.micrometer.tracing.brave.bridge;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.common.lang.Nullable;
 import io.micrometer.tracing.Span;
 import io.micrometer.tracing.TraceContext;
 
@@ -31,6 +34,9 @@ public class BraveSpan implements Span {
 
     final brave.Span delegate;
 
+    @Nullable
+    private volatile BraveTraceContext traceContext;
+
     /**
      * Creates a new instance of {@link BraveSpan}.
      * @param delegate Brave {@link BraveSpan}
@@ -71,7 +77,12 @@ public class BraveSpan implements Span {
         if (this.delegate == null) {
             return null;
         }
-        return new BraveTraceContext(this.delegate.context());
+        BraveTraceContext traceContext = this.traceContext;
+        if (traceContext == null) {
+            traceContext = new BraveTraceContext(this.delegate.context());
+            this.traceContext = traceContext;
+        }
+        return traceContext;
     }
 
     @Override
@@ -104,6 +115,14 @@ public class BraveSpan implements Span {
         return this;
     }
 
+    @Override
+    public Span tagAll(KeyValues keyValues) {
+        for (KeyValue keyValue : keyValues) {
+            this.delegate.tag(keyValue.getKey(), keyValue.getValue());
+        }
+        return this;
+    }
+
     @Override
     public Span error(Throwable throwable) {
         String message = throwable.getMessage() == null ? throwable.getClass().getSimpleName() : throwable.getMessage();
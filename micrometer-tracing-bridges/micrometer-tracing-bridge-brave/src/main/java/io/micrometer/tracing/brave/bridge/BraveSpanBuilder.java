@@ -17,6 +17,8 @@ package io.micrometer.tracing.brave.bridge;
 
 import brave.Tracer;
 import brave.propagation.TraceContextOrSamplingFlags;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
 import io.micrometer.tracing.Link;
 import io.micrometer.tracing.Span;
 import io.micrometer.tracing.TraceContext;
@@ -120,6 +122,14 @@ class BraveSpanBuilder implements Span.Builder {
         return this;
     }
 
+    @Override
+    public Span.Builder tagAll(KeyValues keyValues) {
+        for (KeyValue keyValue : keyValues) {
+            this.tags.put(keyValue.getKey(), keyValue.getValue());
+        }
+        return this;
+    }
+
     @Override
     public Span.Builder error(Throwable throwable) {
         this.error = throwable;
@@ -15,12 +15,14 @@
  */
 package io.micrometer.tracing.brave.bridge;
 
+import java.io.Closeable;
 import java.util.Collections;
 import java.util.List;
 
 import brave.handler.MutableSpan;
 import brave.handler.SpanHandler;
 import brave.propagation.TraceContext;
+import io.micrometer.common.lang.Nullable;
 import io.micrometer.tracing.exporter.FinishedSpan;
 import io.micrometer.tracing.exporter.SpanExportingPredicate;
 import io.micrometer.tracing.exporter.SpanFilter;
@@ -29,17 +31,26 @@ import io.micrometer.tracing.exporter.SpanReporter;
 /**
  * Wraps the {@link SpanHandler} with additional predicate, reporting and filtering logic.
  *
+ * <p>
+ * Predicates and filters always run on the thread that finished the span, since they
+ * decide what the following handlers see. Reporters can optionally be called from a
+ * dedicated thread, see {@link #CompositeSpanHandler(List, List, List, int, OverflowPolicy)}
+ * and {@link CompositeSpanHandlerMetrics} to monitor it.
+ *
  * @author Marcin Grzejszczak
  * @since 1.0.0
  */
-public class CompositeSpanHandler extends SpanHandler {
+public class CompositeSpanHandler extends SpanHandler implements Closeable {
 
     private final List<SpanExportingPredicate> filters;
 
-    private final List<SpanReporter> reporters;
+    final List<SpanReporter> reporters;
 
     private final List<SpanFilter> spanFilters;
 
+    @Nullable
+    final AsyncSpanReporterDispatcher dispatcher;
+
     /**
      * Creates a new instance of {@link CompositeSpanHandler}.
      * @param predicates predicates that decide which spans should be exported
@@ -51,6 +62,29 @@ public class CompositeSpanHandler extends SpanHandler {
         this.filters = predicates == null ? Collections.emptyList() : predicates;
         this.reporters = reporters == null ? Collections.emptyList() : reporters;
         this.spanFilters = spanFilters == null ? Collections.emptyList() : spanFilters;
+        this.dispatcher = null;
+    }
+
+    /**
+     * Creates a new instance of {@link CompositeSpanHandler} that calls the reporters
+     * asynchronously. Finished spans are copied and put into a bounded queue drained by
+     * a dedicated thread, so that slow reporters don't add to the latency of the thread
+     * finishing the span.
+     * @param predicates predicates that decide which spans should be exported
+     * @param reporters reporters that export spans
+     * @param spanFilters filters that mutate spans before reporting them
+     * @param queueSize maximum number of spans waiting to be reported
+     * @param overflowPolicy what to do with a span when the queue is full
+     * @since 1.2.0
+     * @see CompositeSpanHandlerMetrics
+     */
+    public CompositeSpanHandler(List<SpanExportingPredicate> predicates, List<SpanReporter> reporters,
+            List<SpanFilter> spanFilters, int queueSize, OverflowPolicy overflowPolicy) {
+        this.filters = predicates == null ? Collections.emptyList() : predicates;
+        this.reporters = reporters == null ? Collections.emptyList() : reporters;
+        this.spanFilters = spanFilters == null ? Collections.emptyList() : spanFilters;
+        this.dispatcher = this.reporters.isEmpty() ? null
+                : new AsyncSpanReporterDispatcher(this.reporters, queueSize, overflowPolicy);
     }
 
     @Override
@@ -70,12 +104,24 @@ public class CompositeSpanHandler extends SpanHandler {
         for (SpanFilter spanFilter : this.spanFilters) {
             modified = spanFilter.map(modified);
         }
+        if (this.dispatcher != null) {
+            // following handlers may still modify the span
+            this.dispatcher.dispatch(copy(modified));
+            return true;
+        }
         for (SpanReporter reporter : this.reporters) {
             reporter.report(modified);
         }
         return true;
     }
 
+    private static FinishedSpan copy(FinishedSpan span) {
+        if (span instanceof BraveFinishedSpan) {
+            return BraveFinishedSpan.fromBrave(new MutableSpan(BraveFinishedSpan.toBrave(span)));
+        }
+        return span;
+    }
+
     private boolean shouldProcess(MutableSpan span) {
         for (SpanExportingPredicate exporter : this.filters) {
             if (!exporter.isExportable(BraveFinishedSpan.fromBrave(span))) {
@@ -85,4 +131,39 @@ public class CompositeSpanHandler extends SpanHandler {
         return true;
     }
 
+    /**
+     * Reports the spans that are still queued when reporting asynchronously.
+     */
+    @Override
+    public void close() {
+        if (this.dispatcher != null) {
+            this.dispatcher.close();
+        }
+    }
+
+    /**
+     * Decides what happens to a finished span when the asynchronous reporting queue is
+     * full.
+     *
+     * @since 1.2.0
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Drops the span that has just finished.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Drops the oldest queued span to make room for the one that has just finished.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Reports the span on the thread that finished it.
+         */
+        CALLER_RUNS
+
+    }
+
 }
@@ -0,0 +1,88 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.brave.bridge;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the queue size, dropped spans and reporter latency metrics of a
+ * {@link CompositeSpanHandler} reporting asynchronously to a {@link MeterRegistry}.
+ * Nothing is bound for a handler that reports synchronously. Kept apart from the handler
+ * so that micrometer-core remains optional.
+ *
+ * @since 1.2.0
+ */
+public class CompositeSpanHandlerMetrics implements MeterBinder {
+
+    private final CompositeSpanHandler handler;
+
+    private final Iterable<Tag> tags;
+
+    /**
+     * Creates a new instance of {@link CompositeSpanHandlerMetrics}.
+     * @param handler handler to monitor
+     */
+    public CompositeSpanHandlerMetrics(CompositeSpanHandler handler) {
+        this(handler, Tags.empty());
+    }
+
+    /**
+     * Creates a new instance of {@link CompositeSpanHandlerMetrics}.
+     * @param handler handler to monitor
+     * @param tags additional tags
+     */
+    public CompositeSpanHandlerMetrics(CompositeSpanHandler handler, Iterable<Tag> tags) {
+        this.handler = handler;
+        this.tags = tags;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        AsyncSpanReporterDispatcher dispatcher = this.handler.dispatcher;
+        if (dispatcher == null) {
+            return;
+        }
+        Gauge.builder("tracing.reporter.queue.size", dispatcher, AsyncSpanReporterDispatcher::queuedSpans)
+            .tags(this.tags)
+            .description("Number of finished spans waiting to be reported")
+            .register(registry);
+        FunctionCounter
+            .builder("tracing.reporter.spans.dropped", dispatcher, AsyncSpanReporterDispatcher::droppedSpans)
+            .tags(this.tags)
+            .description("Number of finished spans dropped because the reporting queue was full")
+            .register(registry);
+        Timer[] reporterTimers = new Timer[this.handler.reporters.size()];
+        for (int i = 0; i < reporterTimers.length; i++) {
+            reporterTimers[i] = Timer.builder("tracing.reporter.report")
+                .tags(this.tags)
+                .tag("reporter", this.handler.reporters.get(i).getClass().getName())
+                .description("Time spent reporting a finished span")
+                .register(registry);
+        }
+        dispatcher.setReportListener(
+                (reporterIndex, durationNanos) -> reporterTimers[reporterIndex].record(durationNanos,
+                        TimeUnit.NANOSECONDS));
+    }
+
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.brave.sampler;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import brave.sampler.Sampler;
+
+/**
+ * Lock-free alternative to {@link ProbabilityBasedSampler}. Each thread counts its own
+ * sampling decisions, so there is no shared state to contend on between request threads.
+ * <p>
+ * Implementation
+ *
+ * <p>
+ * The probability is resolved to parts per million, which allows sub-percent
+ * probabilities such as {@code 0.001} (0.1%). Every thread keeps a counter that cycles
+ * through a window of one million decisions and samples exactly {@code probability *
+ * 1_000_000} of them, evenly spread over the window. Each thread starts at a random
+ * position of the window so that threads do not sample in lockstep.
+ * <p>
+ * The probability supplier is read once per decision, so changes to the probability are
+ * picked up immediately.
+ * <p>
+ * Like {@link ProbabilityBasedSampler}, the sampling decision isn't consistent based on
+ * the trace id, so this sampler is not appropriate for collectors.
+ *
+ * @since 1.2.0
+ */
+public class PerThreadProbabilityBasedSampler extends Sampler {
+
+    static final int PRECISION = 1_000_000;
+
+    private final ThreadLocal<Counter> counters = ThreadLocal.withInitial(Counter::new);
+
+    private final Supplier<Float> probability;
+
+    /**
+     * Creates a new instance of {@link PerThreadProbabilityBasedSampler}.
+     * @param probability supplier of probability
+     */
+    public PerThreadProbabilityBasedSampler(Supplier<Float> probability) {
+        if (probability == null) {
+            throw new IllegalArgumentException(
+                    "probability property is required for PerThreadProbabilityBasedSampler");
+        }
+        this.probability = probability;
+    }
+
+    @Override
+    public boolean isSampled(long traceId) {
+        Float probability = this.probability.get();
+        if (probability == null || probability <= 0.0f) {
+            return false;
+        }
+        else if (probability >= 1.0f) {
+            return true;
+        }
+        return this.counters.get().next(Math.round(probability * PRECISION));
+    }
+
+    /**
+     * Counter of a single thread. Only ever accessed by its owning thread.
+     */
+    private static final class Counter {
+
+        private int position = ThreadLocalRandom.current().nextInt(PRECISION);
+
+        /**
+         * Moves to the next position of the window. Out of {@link #PRECISION}
+         * consecutive calls, exactly {@code samplesPerWindow} return {@code true}.
+         */
+        boolean next(int samplesPerWindow) {
+            long current = this.position;
+            int next = this.position + 1;
+            this.position = next == PRECISION ? 0 : next;
+            return (current + 1) * samplesPerWindow / PRECISION > current * samplesPerWindow / PRECISION;
+        }
+
+    }
+
+}
@@ -36,6 +36,9 @@ import brave.sampler.Sampler;
  * <p>
  * This counts to see how many out of 100 traces should be retained. This means that it is
  * accurate in units of 100 traces.
+ * <p>
+ * Decisions are serialized on the sampler instance. For a lock-free alternative that
+ * also supports sub-percent probabilities see {@link PerThreadProbabilityBasedSampler}.
  *
  * @author Marcin Grzejszczak
  * @author Adrian Cole
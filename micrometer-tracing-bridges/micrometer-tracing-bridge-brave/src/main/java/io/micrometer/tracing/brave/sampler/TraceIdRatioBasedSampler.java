@@ -0,0 +1,59 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.brave.sampler;
+
+import brave.sampler.Sampler;
+import io.micrometer.tracing.sampler.TraceIdRatioBasedSamplerFunction;
+
+/**
+ * Brave {@link Sampler} that delegates to a {@link TraceIdRatioBasedSamplerFunction}.
+ * Unlike {@link ProbabilityBasedSampler} the decision is consistent based on the trace
+ * id, so it matches the decision taken by other services for the same trace, including
+ * the ones using the OpenTelemetry bridge.
+ *
+ * @since 1.2.0
+ */
+public class TraceIdRatioBasedSampler extends Sampler {
+
+    private final TraceIdRatioBasedSamplerFunction samplerFunction;
+
+    /**
+     * Creates a new instance of {@link TraceIdRatioBasedSampler}.
+     * @param ratio ratio of traces to sample, between {@code 0} and {@code 1}
+     */
+    public TraceIdRatioBasedSampler(double ratio) {
+        this(TraceIdRatioBasedSamplerFunction.create(ratio));
+    }
+
+    /**
+     * Creates a new instance of {@link TraceIdRatioBasedSampler}.
+     * @param samplerFunction trace id based sampler function
+     */
+    public TraceIdRatioBasedSampler(TraceIdRatioBasedSamplerFunction samplerFunction) {
+        this.samplerFunction = samplerFunction;
+    }
+
+    @Override
+    public boolean isSampled(long traceId) {
+        return this.samplerFunction.isSampled(traceId);
+    }
+
+    @Override
+    public String toString() {
+        return this.samplerFunction.toString();
+    }
+
+}
@@ -73,6 +73,25 @@ class BraveFinishedSpanTests {
         then(span.getTags().get("foo")).isEqualTo("bar");
     }
 
+    @Test
+    void should_visit_tags_and_events_in_place() {
+        MutableSpan mutableSpan = new MutableSpan(tracer.nextSpan().context(), null);
+        mutableSpan.tag("foo", "bar");
+        mutableSpan.tag("baz", "qux");
+        mutableSpan.annotate(1L, "started");
+        FinishedSpan span = BraveFinishedSpan.fromBrave(mutableSpan);
+
+        Map<String, String> tags = new HashMap<>();
+        span.forEachTag(tags::put);
+        Map<Long, String> events = new HashMap<>();
+        span.forEachEvent(events::put);
+
+        then(span.getTag("foo")).isEqualTo("bar");
+        then(span.getTag("missing")).isNull();
+        then(tags).containsEntry("foo", "bar").containsEntry("baz", "qux").hasSize(2);
+        then(events).containsEntry(1L, "started").hasSize(1);
+    }
+
     @Test
     void should_set_typed_tags() {
         FinishedSpan span = BraveFinishedSpan.fromBrave(new MutableSpan(tracer.nextSpan().context(), null));
@@ -17,10 +17,12 @@ package io.micrometer.tracing.brave.bridge;
 
 import brave.Tracing;
 import brave.test.TestSpanHandler;
+import io.micrometer.common.KeyValues;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 public class BraveSpanTest {
 
@@ -48,4 +50,27 @@ public class BraveSpanTest {
             .containsEntry("boolean", "true");
     }
 
+    @Test
+    void should_set_all_tags() {
+        new BraveSpan(tracing.tracer().nextSpan()).start().tagAll(KeyValues.of("foo", "bar", "baz", "baz2")).end();
+
+        assertThat(handler.get(0).tags()).containsOnly(entry("foo", "bar"), entry("baz", "baz2"));
+    }
+
+    @Test
+    void should_reuse_trace_context_wrappers() {
+        brave.Span span = tracing.tracer().nextSpan().start();
+        BraveSpan braveSpan = new BraveSpan(span);
+        BraveCurrentTraceContext currentTraceContext = new BraveCurrentTraceContext(tracing.currentTraceContext());
+
+        assertThat(braveSpan.context()).isSameAs(braveSpan.context());
+        try (brave.Tracer.SpanInScope scope = tracing.tracer().withSpanInScope(span)) {
+            assertThat(currentTraceContext.context()).isSameAs(currentTraceContext.context());
+            assertThat(currentTraceContext.context().spanId()).isEqualTo(span.context().spanIdString());
+        }
+        assertThat(currentTraceContext.context()).isNull();
+
+        span.finish();
+    }
+
 }
@@ -0,0 +1,148 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.brave.bridge;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.exporter.SpanReporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.awaitility.Awaitility.await;
+
+class CompositeSpanHandlerTests {
+
+    Tracing tracing = Tracing.newBuilder().build();
+
+    @AfterEach
+    void cleanup() {
+        tracing.close();
+    }
+
+    @Test
+    void should_report_synchronously_by_default() {
+        List<String> reportingThreads = new CopyOnWriteArrayList<>();
+        CompositeSpanHandler handler = new CompositeSpanHandler(Collections.emptyList(),
+                Collections.singletonList(span -> reportingThreads.add(Thread.currentThread().getName())),
+                Collections.emptyList());
+
+        then(handler.end(context(), span("foo"), SpanHandler.Cause.FINISHED)).isTrue();
+
+        then(reportingThreads).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    void should_report_asynchronously_a_copy_of_the_filtered_span() {
+        List<String> reportedNames = new CopyOnWriteArrayList<>();
+        List<String> reportingThreads = new CopyOnWriteArrayList<>();
+        SpanReporter reporter = span -> {
+            reportedNames.add(span.getName());
+            reportingThreads.add(Thread.currentThread().getName());
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CompositeSpanHandler handler = new CompositeSpanHandler(Collections.emptyList(),
+                Collections.singletonList(reporter), Collections.singletonList(span -> span.setName("filtered")), 10,
+                CompositeSpanHandler.OverflowPolicy.DROP_NEWEST);
+        new CompositeSpanHandlerMetrics(handler).bindTo(meterRegistry);
+        MutableSpan span = span("foo");
+
+        then(handler.end(context(), span, SpanHandler.Cause.FINISHED)).isTrue();
+        // filters still run synchronously, the following handlers see their result
+        then(span.name()).isEqualTo("filtered");
+        span.name("changed by another handler");
+        handler.close();
+
+        then(reportedNames).containsExactly("filtered");
+        then(reportingThreads).doesNotContain(Thread.currentThread().getName());
+        then(meterRegistry.get("tracing.reporter.report").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_veto_spans_synchronously_when_reporting_asynchronously() {
+        List<String> reportedNames = new CopyOnWriteArrayList<>();
+        CompositeSpanHandler handler = new CompositeSpanHandler(
+                Collections.singletonList(span -> !span.getName().equals("ignored")),
+                Collections.singletonList(span -> reportedNames.add(span.getName())), Collections.emptyList(), 10,
+                CompositeSpanHandler.OverflowPolicy.DROP_NEWEST);
+
+        then(handler.end(context(), span("ignored"), SpanHandler.Cause.FINISHED)).isFalse();
+        then(handler.end(context(), span("foo"), SpanHandler.Cause.FINISHED)).isTrue();
+        handler.close();
+
+        then(reportedNames).containsExactly("foo");
+    }
+
+    @Test
+    void should_apply_overflow_policy_when_queue_is_full() throws InterruptedException {
+        CountDownLatch reporting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> reportedNames = new CopyOnWriteArrayList<>();
+        SpanReporter reporter = span -> {
+            reporting.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            reportedNames.add(span.getName());
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CompositeSpanHandler handler = new CompositeSpanHandler(Collections.emptyList(),
+                Collections.singletonList(reporter), Collections.emptyList(), 1,
+                CompositeSpanHandler.OverflowPolicy.DROP_OLDEST);
+        new CompositeSpanHandlerMetrics(handler).bindTo(meterRegistry);
+        try {
+            handler.end(context(), span("first"), SpanHandler.Cause.FINISHED);
+            then(reporting.await(5, TimeUnit.SECONDS)).isTrue();
+
+            handler.end(context(), span("second"), SpanHandler.Cause.FINISHED);
+            handler.end(context(), span("third"), SpanHandler.Cause.FINISHED);
+
+            then(meterRegistry.get("tracing.reporter.spans.dropped").functionCounter().count()).isEqualTo(1);
+            then(meterRegistry.get("tracing.reporter.queue.size").gauge().value()).isEqualTo(1);
+        }
+        finally {
+            release.countDown();
+            handler.close();
+        }
+
+        await().atMost(Duration.ofSeconds(5))
+            .untilAsserted(() -> then(reportedNames).containsExactly("first", "third"));
+    }
+
+    private TraceContext context() {
+        return tracing.tracer().nextSpan().context();
+    }
+
+    private MutableSpan span(String name) {
+        MutableSpan span = new MutableSpan(context(), null);
+        span.name(name);
+        return span;
+    }
+
+}
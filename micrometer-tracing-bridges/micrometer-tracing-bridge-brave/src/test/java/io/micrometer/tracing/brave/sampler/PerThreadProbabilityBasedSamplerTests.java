@@ -0,0 +1,95 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.brave.sampler;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import brave.sampler.Sampler;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class PerThreadProbabilityBasedSamplerTests {
+
+    private static final Random RANDOM = new Random();
+
+    @Test
+    void should_pass_all_samples_when_config_has_1_probability() {
+        Sampler sampler = new PerThreadProbabilityBasedSampler(() -> 1f);
+
+        for (int i = 0; i < 10; i++) {
+            then(sampler.isSampled(RANDOM.nextLong())).isTrue();
+        }
+    }
+
+    @Test
+    void should_reject_all_samples_when_config_has_0_probability() {
+        Sampler sampler = new PerThreadProbabilityBasedSampler(() -> 0f);
+
+        for (int i = 0; i < 10; i++) {
+            then(sampler.isSampled(RANDOM.nextLong())).isFalse();
+        }
+    }
+
+    @Test
+    void should_pass_exact_percent_of_samples_within_a_window() {
+        int numberOfSampledElements = countNumberOfSampledElements(PerThreadProbabilityBasedSampler.PRECISION,
+                () -> 0.35f);
+
+        then(numberOfSampledElements).isEqualTo(350_000);
+    }
+
+    @Test
+    void should_support_sub_percent_probabilities() {
+        int numberOfSampledElements = countNumberOfSampledElements(PerThreadProbabilityBasedSampler.PRECISION,
+                () -> 0.001f);
+
+        then(numberOfSampledElements).isEqualTo(1_000);
+    }
+
+    @Test
+    void should_pick_up_probability_changes() {
+        AtomicReference<Float> probability = new AtomicReference<>(0f);
+        Sampler sampler = new PerThreadProbabilityBasedSampler(probability::get);
+
+        then(sampler.isSampled(RANDOM.nextLong())).isFalse();
+
+        probability.set(1f);
+
+        then(sampler.isSampled(RANDOM.nextLong())).isTrue();
+    }
+
+    @Test
+    void should_fail_given_no_probability() {
+        assertThatThrownBy(() -> new PerThreadProbabilityBasedSampler(null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("probability property is required for PerThreadProbabilityBasedSampler");
+    }
+
+    private int countNumberOfSampledElements(int numberOfIterations, Supplier<Float> probability) {
+        Sampler sampler = new PerThreadProbabilityBasedSampler(probability);
+        int passedCounter = 0;
+        for (int i = 0; i < numberOfIterations; i++) {
+            boolean passed = sampler.isSampled(RANDOM.nextLong());
+            passedCounter = passedCounter + (passed ? 1 : 0);
+        }
+        return passedCounter;
+    }
+
+}
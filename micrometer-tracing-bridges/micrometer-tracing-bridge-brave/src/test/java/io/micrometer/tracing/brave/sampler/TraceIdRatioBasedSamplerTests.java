@@ -0,0 +1,44 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.brave.sampler;
+
+import java.util.Random;
+
+import brave.sampler.Sampler;
+import io.micrometer.tracing.internal.EncodingUtils;
+import io.micrometer.tracing.sampler.TraceIdRatioBasedSamplerFunction;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class TraceIdRatioBasedSamplerTests {
+
+    private static final Random RANDOM = new Random();
+
+    @Test
+    void should_take_the_same_decision_as_for_the_hex_trace_id() {
+        Sampler sampler = new TraceIdRatioBasedSampler(0.3);
+        TraceIdRatioBasedSamplerFunction samplerFunction = TraceIdRatioBasedSamplerFunction.create(0.3);
+
+        for (int i = 0; i < 1_000; i++) {
+            long high = RANDOM.nextLong();
+            long low = RANDOM.nextLong();
+
+            then(sampler.isSampled(low)).isEqualTo(samplerFunction.trySample(EncodingUtils.fromLongs(high, low)));
+        }
+    }
+
+}
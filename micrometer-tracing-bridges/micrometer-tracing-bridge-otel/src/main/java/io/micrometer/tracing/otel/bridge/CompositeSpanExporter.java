@@ -63,35 +63,43 @@ public class CompositeSpanExporter implements io.opentelemetry.sdk.trace.export.
 
     @Override
     public CompletableResultCode export(Collection<SpanData> spans) {
-        List<SpanData> changedSpanData = spans.stream().filter(this::shouldProcess).map(spanData -> {
+        // every span is wrapped once, the wrapper only copies the span data when a
+        // filter modifies it
+        List<FinishedSpan> finishedSpans = new ArrayList<>(spans.size());
+        List<SpanData> changedSpanData = new ArrayList<>(spans.size());
+        for (SpanData spanData : spans) {
             FinishedSpan finishedSpan = OtelFinishedSpan.fromOtel(spanData);
-            for (SpanFilter spanFilter : spanFilters) {
+            if (!shouldProcess(finishedSpan)) {
+                continue;
+            }
+            for (SpanFilter spanFilter : this.spanFilters) {
                 finishedSpan = spanFilter.map(finishedSpan);
             }
-            return OtelFinishedSpan.toOtel(finishedSpan);
-        }).collect(Collectors.toList());
+            finishedSpans.add(finishedSpan);
+            changedSpanData.add(OtelFinishedSpan.toOtel(finishedSpan));
+        }
         if (changedSpanData.isEmpty()) {
             return CompletableResultCode.ofSuccess();
         }
         List<CompletableResultCode> results = new ArrayList<>();
-        changedSpanData.forEach(spanData -> {
-            this.reporters.forEach(reporter -> {
+        for (FinishedSpan finishedSpan : finishedSpans) {
+            for (SpanReporter reporter : this.reporters) {
                 try {
-                    reporter.report(OtelFinishedSpan.fromOtel(spanData));
+                    reporter.report(finishedSpan);
                     results.add(CompletableResultCode.ofSuccess());
                 }
                 catch (Exception ex) {
                     results.add(CompletableResultCode.ofFailure());
                 }
-            });
-        });
+            }
+        }
         this.exporters.forEach(spanExporter -> results.add(spanExporter.export(changedSpanData)));
         return CompletableResultCode.ofAll(results);
     }
 
-    private boolean shouldProcess(SpanData span) {
+    private boolean shouldProcess(FinishedSpan span) {
         for (SpanExportingPredicate filter : this.predicates) {
-            if (!filter.isExportable(OtelFinishedSpan.fromOtel(span))) {
+            if (!filter.isExportable(span)) {
                 return false;
             }
         }
@@ -0,0 +1,103 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.otel.bridge;
+
+import io.micrometer.common.lang.Nullable;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+
+/**
+ * Per thread cache of the {@link OtelSpan} and {@link OtelTraceContext} wrapping the
+ * span of the current OTel {@link Context}. Contexts are immutable, so as long as the
+ * same context instance is current, the wrappers created for it can be returned again
+ * instead of allocating new ones on every lookup. Setting baggage on a wrapper replaces
+ * the context it holds, such a wrapper is not reused anymore. Only the wrappers for the
+ * last seen context are kept, and the cache is cleared when no span is current so that
+ * idle threads don't hold on to them.
+ */
+final class CurrentContextWrappers {
+
+    private static final ThreadLocal<CurrentContextWrappers> CACHE = new ThreadLocal<>();
+
+    @Nullable
+    private Context context;
+
+    @Nullable
+    private OtelSpan span;
+
+    @Nullable
+    private OtelTraceContext traceContext;
+
+    private CurrentContextWrappers() {
+    }
+
+    /**
+     * Returns the {@link OtelSpan} wrapping the span of the current context.
+     * @param context current context
+     * @param currentSpan span stored in the current context
+     * @return span wrapper
+     */
+    static OtelSpan span(Context context, Span currentSpan) {
+        CurrentContextWrappers wrappers = forContext(context);
+        OtelSpan span = wrappers.span;
+        // a span from a span context shares the context of its trace context, a new
+        // wrapper would hold the very same one
+        if (span == null
+                || (!(currentSpan instanceof SpanFromSpanContext) && span.storedContext() != context)) {
+            span = new OtelSpan(currentSpan);
+            wrappers.span = span;
+        }
+        return span;
+    }
+
+    /**
+     * Returns the {@link OtelTraceContext} of the span of the current context.
+     * @param context current context
+     * @param currentSpan span stored in the current context
+     * @return trace context wrapper
+     */
+    static OtelTraceContext traceContext(Context context, Span currentSpan) {
+        CurrentContextWrappers wrappers = forContext(context);
+        OtelTraceContext traceContext = wrappers.traceContext;
+        if (traceContext == null || traceContext.context() != context) {
+            traceContext = new OtelTraceContext(currentSpan);
+            wrappers.traceContext = traceContext;
+        }
+        return traceContext;
+    }
+
+    /**
+     * Removes the wrappers cached for the current thread.
+     */
+    static void clear() {
+        CACHE.remove();
+    }
+
+    private static CurrentContextWrappers forContext(Context context) {
+        CurrentContextWrappers wrappers = CACHE.get();
+        if (wrappers == null) {
+            wrappers = new CurrentContextWrappers();
+            CACHE.set(wrappers);
+        }
+        if (wrappers.context != context) {
+            wrappers.context = context;
+            wrappers.span = null;
+            wrappers.traceContext = null;
+        }
+        return wrappers;
+    }
+
+}
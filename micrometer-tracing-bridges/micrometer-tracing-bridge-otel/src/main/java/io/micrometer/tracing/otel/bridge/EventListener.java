@@ -28,4 +28,15 @@ public interface EventListener {
      */
     void onEvent(Object event);
 
+    /**
+     * Whether this listener reacts to events of the given type. Publishers may skip
+     * creating events that no listener supports.
+     * @param eventType type of the event
+     * @return {@code true} when events of this type should be passed to the listener
+     * @since 1.2.0
+     */
+    default boolean supportsEventType(Class<?> eventType) {
+        return true;
+    }
+
 }
@@ -31,31 +31,56 @@ import java.util.function.Function;
  */
 public final class EventPublishingContextWrapper implements Function<ContextStorage, ContextStorage> {
 
+    private static final ScopeClosedEvent SCOPE_CLOSED_EVENT = new ScopeClosedEvent();
+
     private final OtelTracer.EventPublisher publisher;
 
+    private final boolean publishAttached;
+
+    private final boolean publishClosed;
+
+    private final boolean publishRestored;
+
     /**
-     * Creates a new instance of {@link EventPublishingContextWrapper}.
+     * Creates a new instance of {@link EventPublishingContextWrapper}. Only the event
+     * types that the publisher {@link OtelTracer.EventPublisher#supportsEventType(Class)
+     * supports} are created and published.
      * @param publisher an event publisher
      */
     public EventPublishingContextWrapper(OtelTracer.EventPublisher publisher) {
         this.publisher = publisher;
+        this.publishAttached = publisher.supportsEventType(ScopeAttachedEvent.class);
+        this.publishClosed = publisher.supportsEventType(ScopeClosedEvent.class);
+        this.publishRestored = publisher.supportsEventType(ScopeRestoredEvent.class);
     }
 
     @Override
     public ContextStorage apply(ContextStorage contextStorage) {
+        if (!this.publishAttached && !this.publishClosed && !this.publishRestored) {
+            return contextStorage;
+        }
         return new ContextStorage() {
             @Override
             public io.opentelemetry.context.Scope attach(Context context) {
-                Context currentContext = Context.current();
+                Context currentContext = publishRestored ? Context.current() : null;
                 io.opentelemetry.context.Scope scope = contextStorage.attach(context);
                 if (scope == io.opentelemetry.context.Scope.noop()) {
                     return scope;
                 }
-                publisher.publishEvent(new ScopeAttachedEvent(context));
+                if (publishAttached) {
+                    publisher.publishEvent(new ScopeAttachedEvent(context));
+                }
+                if (!publishClosed && !publishRestored) {
+                    return scope;
+                }
                 return () -> {
                     scope.close();
-                    publisher.publishEvent(new ScopeClosedEvent());
-                    publisher.publishEvent(new ScopeRestoredEvent(currentContext));
+                    if (publishClosed) {
+                        publisher.publishEvent(SCOPE_CLOSED_EVENT);
+                    }
+                    if (publishRestored) {
+                        publisher.publishEvent(new ScopeRestoredEvent(currentContext));
+                    }
                 };
             }
 
@@ -102,7 +127,8 @@ public final class EventPublishingContextWrapper implements Function<ContextStor
     }
 
     /**
-     * Event related to closing a scope.
+     * Event related to closing a scope. Carries no state, so a single instance is
+     * published for all scopes.
      */
     public static class ScopeClosedEvent {
 
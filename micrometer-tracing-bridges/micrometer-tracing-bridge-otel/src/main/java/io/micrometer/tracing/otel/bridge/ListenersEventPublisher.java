@@ -0,0 +1,99 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.otel.bridge;
+
+import io.micrometer.common.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link OtelTracer.EventPublisher} passing events to a fixed list of
+ * {@link EventListener}s. The listeners of the scope events are resolved once, so
+ * publishing does not query the listeners on every scope change.
+ */
+final class ListenersEventPublisher implements OtelTracer.EventPublisher {
+
+    private final EventListener[] listeners;
+
+    private final EventListener[] scopeAttachedListeners;
+
+    private final EventListener[] scopeClosedListeners;
+
+    private final EventListener[] scopeRestoredListeners;
+
+    ListenersEventPublisher(List<EventListener> listeners) {
+        this.listeners = listeners.toArray(new EventListener[0]);
+        this.scopeAttachedListeners = supporting(EventPublishingContextWrapper.ScopeAttachedEvent.class);
+        this.scopeClosedListeners = supporting(EventPublishingContextWrapper.ScopeClosedEvent.class);
+        this.scopeRestoredListeners = supporting(EventPublishingContextWrapper.ScopeRestoredEvent.class);
+    }
+
+    private EventListener[] supporting(Class<?> eventType) {
+        List<EventListener> supporting = new ArrayList<>(this.listeners.length);
+        for (EventListener listener : this.listeners) {
+            if (listener.supportsEventType(eventType)) {
+                supporting.add(listener);
+            }
+        }
+        return supporting.toArray(new EventListener[0]);
+    }
+
+    @Override
+    public void publishEvent(Object event) {
+        EventListener[] listeners = listenersFor(event.getClass());
+        if (listeners != null) {
+            for (EventListener listener : listeners) {
+                listener.onEvent(event);
+            }
+            return;
+        }
+        for (EventListener listener : this.listeners) {
+            if (listener.supportsEventType(event.getClass())) {
+                listener.onEvent(event);
+            }
+        }
+    }
+
+    @Override
+    public boolean supportsEventType(Class<?> eventType) {
+        EventListener[] listeners = listenersFor(eventType);
+        if (listeners != null) {
+            return listeners.length > 0;
+        }
+        for (EventListener listener : this.listeners) {
+            if (listener.supportsEventType(eventType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private EventListener[] listenersFor(Class<?> eventType) {
+        if (eventType == EventPublishingContextWrapper.ScopeAttachedEvent.class) {
+            return this.scopeAttachedListeners;
+        }
+        else if (eventType == EventPublishingContextWrapper.ScopeClosedEvent.class) {
+            return this.scopeClosedListeners;
+        }
+        else if (eventType == EventPublishingContextWrapper.ScopeRestoredEvent.class) {
+            return this.scopeRestoredListeners;
+        }
+        return null;
+    }
+
+}
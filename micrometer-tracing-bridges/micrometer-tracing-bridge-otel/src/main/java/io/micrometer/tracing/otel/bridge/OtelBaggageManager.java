@@ -21,18 +21,11 @@ import io.micrometer.tracing.BaggageManager;
 import io.micrometer.tracing.CurrentTraceContext;
 import io.micrometer.tracing.TraceContext;
 import io.opentelemetry.api.baggage.Baggage;
-import io.opentelemetry.api.baggage.BaggageBuilder;
 import io.opentelemetry.api.baggage.BaggageEntry;
 import io.opentelemetry.api.baggage.BaggageEntryMetadata;
 import io.opentelemetry.context.Context;
 
 import java.util.*;
-import java.util.function.BiConsumer;
-
-import static java.util.Collections.unmodifiableCollection;
-import static java.util.Collections.unmodifiableMap;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toMap;
 
 /**
  * OpenTelemetry implementation of a {@link BaggageManager}.
@@ -49,7 +42,9 @@ public class OtelBaggageManager implements BaggageManager {
 
     private final CurrentTraceContext currentTraceContext;
 
-    private final List<String> remoteFields;
+    private final Set<String> remoteFields;
+
+    private final Set<String> lowerCaseRemoteFields;
 
     private final List<String> tagFields;
 
@@ -62,7 +57,11 @@ public class OtelBaggageManager implements BaggageManager {
     public OtelBaggageManager(CurrentTraceContext currentTraceContext, List<String> remoteFields,
             List<String> tagFields) {
         this.currentTraceContext = currentTraceContext;
-        this.remoteFields = remoteFields;
+        this.remoteFields = new HashSet<>(remoteFields);
+        this.lowerCaseRemoteFields = new HashSet<>();
+        for (String remoteField : remoteFields) {
+            this.lowerCaseRemoteFields.add(remoteField.toLowerCase(Locale.ROOT));
+        }
         this.tagFields = tagFields;
     }
 
@@ -73,20 +72,22 @@ public class OtelBaggageManager implements BaggageManager {
         return baggage;
     }
 
-    CompositeBaggage currentBaggage() {
+    /**
+     * Baggage of the current {@link Context} merged with the one of the current trace
+     * context, the former wins on conflicts.
+     */
+    BaggageIndex currentBaggage() {
         OtelTraceContext traceContext = (OtelTraceContext) currentTraceContext.context();
         Context context = Context.current();
-        Deque<Context> stack = new ArrayDeque<>();
-        if (traceContext != null) {
-            stack.addFirst(traceContext.context());
-        }
-        stack.addFirst(context);
-        return new CompositeBaggage(stack);
+        Context traceContextContext = traceContext != null ? traceContext.context() : null;
+        return BaggageIndex.of(Baggage.fromContext(context),
+                traceContextContext != null && traceContextContext != context
+                        ? Baggage.fromContext(traceContextContext) : null);
     }
 
     @Override
     public io.micrometer.tracing.Baggage getBaggage(String name) {
-        Entry entry = getBaggage(name, currentBaggage());
+        Entry entry = currentBaggage().get(name);
         return createNewEntryIfMissing(name, entry);
     }
 
@@ -97,26 +98,16 @@ public class OtelBaggageManager implements BaggageManager {
         return otelBaggage(entry);
     }
 
-    private Entry getBaggage(String name, io.opentelemetry.api.baggage.Baggage baggage) {
-        return entryForName(name, baggage);
-    }
-
     @Override
     public io.micrometer.tracing.Baggage getBaggage(TraceContext traceContext, String name) {
         OtelTraceContext context = (OtelTraceContext) traceContext;
-        Deque<Context> stack = new ArrayDeque<>();
         Context current = Context.current();
         Context traceContextContext = context.context();
-        stack.addFirst(current);
-        if (current != traceContextContext) {
-            stack.addFirst(traceContextContext);
-        }
-        Context ctx = removeFirst(stack);
-        Entry entry = null;
-        while (ctx != null && entry == null) {
-            entry = getBaggage(name, Baggage.fromContext(ctx));
-            ctx = removeFirst(stack);
-        }
+        // the trace context's baggage takes precedence over the current one
+        Entry entry = BaggageIndex
+            .of(Baggage.fromContext(traceContextContext),
+                    current != traceContextContext ? Baggage.fromContext(current) : null)
+            .get(name);
         if (entry != null) {
             return otelBaggage(entry);
         }
@@ -124,21 +115,7 @@ public class OtelBaggageManager implements BaggageManager {
     }
 
     Entry getEntry(OtelTraceContext traceContext, String name) {
-        OtelTraceContext context = traceContext;
-        Context ctx = context.context();
-        return getBaggage(name, Baggage.fromContext(ctx));
-    }
-
-    Context removeFirst(Deque<Context> stack) {
-        return stack.isEmpty() ? null : stack.removeFirst();
-    }
-
-    private Entry entryForName(String name, io.opentelemetry.api.baggage.Baggage baggage) {
-        return Entry.fromBaggage(baggage)
-            .stream()
-            .filter(e -> e.getKey().equalsIgnoreCase(name))
-            .findFirst()
-            .orElse(null);
+        return BaggageIndex.of(Baggage.fromContext(traceContext.context()), null).get(name);
     }
 
     private io.micrometer.tracing.Baggage otelBaggage(Entry entry) {
@@ -169,9 +146,8 @@ public class OtelBaggageManager implements BaggageManager {
     }
 
     private io.micrometer.tracing.Baggage baggageWithValue(String name, @Nullable String value) {
-        boolean remoteField = this.remoteFields.stream()
-            .map(String::toLowerCase)
-            .anyMatch(s -> s.equals(name.toLowerCase()));
+        boolean remoteField = this.remoteFields.contains(name)
+                || this.lowerCaseRemoteFields.contains(name.toLowerCase(Locale.ROOT));
         BaggageEntryMetadata entryMetadata = BaggageEntryMetadata.create(propagationString(remoteField));
         Entry entry = new Entry(name, value, entryMetadata);
         return new OtelBaggageInScope(this, this.currentTraceContext, this.tagFields, entry);
@@ -187,62 +163,84 @@ public class OtelBaggageManager implements BaggageManager {
 
 }
 
-class CompositeBaggage implements io.opentelemetry.api.baggage.Baggage {
+/**
+ * Case-insensitive index over the entries of a child and an optional parent
+ * {@link Baggage}, the child's entries override the parent's ones. The last index built
+ * on a thread is reused for as long as the same baggage instances are looked up, as
+ * {@link Baggage} is immutable. It is dropped when a lookup finds no baggage, so that
+ * idle pooled threads don't keep baggage values nor the bridge classes reachable.
+ */
+final class BaggageIndex {
 
-    private final Collection<Entry> entries;
+    private static final BaggageIndex EMPTY = new BaggageIndex(Baggage.empty(), null);
 
-    private final Map<String, BaggageEntry> baggageEntries;
+    private static final ThreadLocal<BaggageIndex> LAST_INDEX = new ThreadLocal<>();
 
-    CompositeBaggage(Deque<Context> stack) {
-        this.entries = unmodifiableCollection(createEntries(stack));
-        this.baggageEntries = unmodifiableMap(this.entries.stream().collect(toMap(Entry::getKey, identity())));
-    }
+    private final Baggage child;
 
-    private Collection<Entry> createEntries(Deque<Context> stack) {
-        // parent baggage foo=bar
-        // child baggage foo=baz - we want the last one to override the previous one
-        Map<String, Entry> map = new HashMap<>();
-        Iterator<Context> iterator = stack.descendingIterator();
-        while (iterator.hasNext()) {
-            Context next = iterator.next();
-            Baggage baggage = Baggage.fromContext(next);
-            baggage.forEach((key, value) -> map.put(key, new Entry(key, value.getValue(), value.getMetadata())));
-        }
+    @Nullable
+    private final Baggage parent;
 
-        return map.values();
-    }
+    private final Map<String, Entry> entries = new HashMap<>();
 
-    Collection<Entry> getEntries() {
-        return this.entries;
+    private final Map<String, Entry> lowerCaseEntries = new HashMap<>();
+
+    private BaggageIndex(Baggage child, @Nullable Baggage parent) {
+        this.child = child;
+        this.parent = parent;
+        if (parent != null) {
+            parent.forEach(this::index);
+        }
+        child.forEach(this::index);
     }
 
-    @Override
-    public int size() {
-        return this.entries.size();
+    static BaggageIndex of(Baggage child, @Nullable Baggage parent) {
+        if (child.isEmpty() && (parent == null || parent.isEmpty())) {
+            LAST_INDEX.remove();
+            return EMPTY;
+        }
+        BaggageIndex last = LAST_INDEX.get();
+        if (last != null && last.child == child && last.parent == parent) {
+            return last;
+        }
+        BaggageIndex index = new BaggageIndex(child, parent);
+        LAST_INDEX.set(index);
+        return index;
     }
 
-    @Override
-    public void forEach(BiConsumer<? super String, ? super BaggageEntry> consumer) {
-        this.entries.forEach(entry -> consumer.accept(entry.getKey(), entry));
+    private void index(String key, BaggageEntry baggageEntry) {
+        Entry entry = new Entry(key, baggageEntry.getValue(), baggageEntry.getMetadata());
+        this.entries.put(key, entry);
+        this.lowerCaseEntries.put(key.toLowerCase(Locale.ROOT), entry);
     }
 
-    @Override
-    public Map<String, BaggageEntry> asMap() {
-        return this.baggageEntries;
+    /**
+     * Looks up an entry ignoring the case of its name.
+     * @param name entry name
+     * @return entry or {@code null} if not present
+     */
+    @Nullable
+    Entry get(String name) {
+        Entry entry = this.entries.get(name);
+        if (entry != null) {
+            return entry;
+        }
+        return this.lowerCaseEntries.get(name.toLowerCase(Locale.ROOT));
     }
 
-    @Override
-    public String getEntryValue(String entryKey) {
-        return this.entries.stream()
-            .filter(entry -> entryKey.equals(entry.getKey()))
-            .map(Entry::getValue)
-            .findFirst()
-            .orElse(null);
+    /**
+     * Looks up the value of an entry with exactly the given name.
+     * @param name entry name
+     * @return value or {@code null} if not present
+     */
+    @Nullable
+    String getEntryValue(String name) {
+        Entry entry = this.entries.get(name);
+        return entry != null ? entry.getValue() : null;
     }
 
-    @Override
-    public BaggageBuilder toBuilder() {
-        return Baggage.builder();
+    Collection<Entry> getEntries() {
+        return Collections.unmodifiableCollection(this.entries.values());
     }
 
 }
@@ -261,12 +259,6 @@ class Entry implements BaggageEntry {
         this.entryMetadata = entryMetadata;
     }
 
-    static List<Entry> fromBaggage(Baggage baggage) {
-        List<Entry> list = new ArrayList<>(baggage.size());
-        baggage.forEach((key, value) -> list.add(new Entry(key, value.getValue(), value.getMetadata())));
-        return list;
-    }
-
     public String getKey() {
         return this.key;
     }
@@ -38,14 +38,22 @@ public class OtelCurrentTraceContext implements CurrentTraceContext {
 
     @Override
     public TraceContext context() {
-        Span currentSpan = Span.current();
+        Context current = Context.current();
+        Span currentSpan = Span.fromContext(current);
         if (Span.getInvalid().equals(currentSpan)) {
+            CurrentContextWrappers.clear();
             return null;
         }
         if (currentSpan instanceof SpanFromSpanContext) {
-            return new OtelTraceContext((SpanFromSpanContext) currentSpan);
+            SpanFromSpanContext spanFromSpanContext = (SpanFromSpanContext) currentSpan;
+            // put in scope via OtelTraceContext#spanFromSpanContext, otherwise it may hold
+            // the trace context of the parent span
+            if (spanFromSpanContext.otelTraceContext.delegate == spanFromSpanContext.newSpanContext) {
+                return spanFromSpanContext.otelTraceContext;
+            }
+            return new OtelTraceContext(spanFromSpanContext);
         }
-        return new OtelTraceContext(currentSpan);
+        return CurrentContextWrappers.traceContext(current, currentSpan);
     }
 
     /**
@@ -63,23 +71,30 @@ public class OtelCurrentTraceContext implements CurrentTraceContext {
         }
         Context current = Context.current();
         Context old = otelTraceContext.context();
-        // Check if there's a span in the static OTel context
-        Span spanFromCurrentCtx = Span.fromContext(current);
-        // Check if there's a span in the ctx attached to TraceContext
-        Span spanFromCtxOnNewSpan = Span.fromContext(otelTraceContext.context());
         SpanContext spanContext = otelTraceContext.delegate;
-        boolean sameSpan = spanFromCurrentCtx.getSpanContext().equals(spanFromCtxOnNewSpan.getSpanContext())
-                && spanFromCurrentCtx.getSpanContext().equals(spanContext);
-        SpanFromSpanContext fromContext = new SpanFromSpanContext(((OtelTraceContext) context).span, spanContext,
-                otelTraceContext);
+        // Check if there's a span in the static OTel context
+        SpanContext spanContextFromCurrentCtx = Span.fromContext(current).getSpanContext();
         Baggage currentBaggage = Baggage.fromContext(current);
+        if (current == old) {
+            // The context attached to TraceContext is already the current one
+            if (sameSpanContext(spanContextFromCurrentCtx, spanContext)) {
+                return io.opentelemetry.context.Scope::noop;
+            }
+            return attach(otelTraceContext, old, currentBaggage);
+        }
+        // Check if there's a span in the ctx attached to TraceContext
+        SpanContext spanContextFromOldCtx = Span.fromContext(old).getSpanContext();
         Baggage oldBaggage = Baggage.fromContext(old);
-        boolean sameBaggage = sameBaggage(currentBaggage, oldBaggage);
-        if (sameSpan && sameBaggage) {
+        boolean sameSpan = sameSpanContext(spanContextFromCurrentCtx, spanContextFromOldCtx)
+                && sameSpanContext(spanContextFromCurrentCtx, spanContext);
+        if (sameSpan && sameBaggage(currentBaggage, oldBaggage)) {
             return io.opentelemetry.context.Scope::noop;
         }
-        Baggage updatedBaggage = mergeBaggage(currentBaggage, oldBaggage);
-        Context newContext = old.with(fromContext).with(updatedBaggage);
+        return attach(otelTraceContext, old, mergeBaggage(currentBaggage, oldBaggage));
+    }
+
+    private static Scope attach(OtelTraceContext otelTraceContext, Context old, Baggage baggage) {
+        Context newContext = old.with(otelTraceContext.spanFromSpanContext()).with(baggage);
         io.opentelemetry.context.Scope attach = newContext.makeCurrent();
         otelTraceContext.updateContext(newContext);
         return () -> {
@@ -88,7 +103,18 @@ public class OtelCurrentTraceContext implements CurrentTraceContext {
         };
     }
 
+    private static boolean sameSpanContext(SpanContext first, SpanContext second) {
+        return first == second || first.equals(second);
+    }
+
     private static Baggage mergeBaggage(Baggage currentBaggage, Baggage oldBaggage) {
+        // Entries from the old baggage win, merge only when both have entries
+        if (currentBaggage == oldBaggage || oldBaggage.isEmpty()) {
+            return currentBaggage;
+        }
+        if (currentBaggage.isEmpty()) {
+            return oldBaggage;
+        }
         BaggageBuilder baggageBuilder = currentBaggage.toBuilder();
         oldBaggage.forEach(
                 (key, baggageEntry) -> baggageBuilder.put(key, baggageEntry.getValue(), baggageEntry.getMetadata()));
@@ -97,7 +123,7 @@ public class OtelCurrentTraceContext implements CurrentTraceContext {
     }
 
     private boolean sameBaggage(Baggage currentBaggage, Baggage oldBaggage) {
-        return currentBaggage.equals(oldBaggage);
+        return currentBaggage == oldBaggage || currentBaggage.equals(oldBaggage);
     }
 
     @Override
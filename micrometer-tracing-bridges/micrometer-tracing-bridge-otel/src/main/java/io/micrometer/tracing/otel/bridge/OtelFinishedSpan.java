@@ -25,6 +25,7 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import io.micrometer.tracing.Link;
@@ -42,19 +43,22 @@ import io.opentelemetry.sdk.trace.data.SpanData;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
 
 /**
- * OpenTelemetry implementation of a {@link FinishedSpan}.
+ * OpenTelemetry implementation of a {@link FinishedSpan}. Reads go straight to the
+ * wrapped {@link SpanData}, a mutable copy is only made once the span gets modified.
  *
  * @author Marcin Grzejszczak
  * @since 1.0.0
  */
 public class OtelFinishedSpan implements FinishedSpan {
 
-    private final MutableSpanData spanData;
+    private final SpanData delegate;
+
+    private MutableSpanData mutableSpanData;
 
     private volatile String linkLocalIp;
 
     OtelFinishedSpan(SpanData spanData) {
-        this.spanData = new MutableSpanData(spanData);
+        this.delegate = spanData;
     }
 
     /**
@@ -72,34 +76,52 @@ public class OtelFinishedSpan implements FinishedSpan {
      * @return OTel version
      */
     public static SpanData toOtel(FinishedSpan span) {
-        return ((OtelFinishedSpan) span).spanData;
+        return ((OtelFinishedSpan) span).spanData();
+    }
+
+    /**
+     * Returns the span data to read from, the mutable copy if the span got modified.
+     */
+    private SpanData spanData() {
+        return this.mutableSpanData != null ? this.mutableSpanData : this.delegate;
+    }
+
+    /**
+     * Returns the mutable copy of the span data, creating it on the first modification.
+     */
+    private MutableSpanData mutableSpanData() {
+        if (this.mutableSpanData == null) {
+            this.mutableSpanData = new MutableSpanData(this.delegate);
+        }
+        return this.mutableSpanData;
     }
 
     @Override
     public FinishedSpan setName(String name) {
-        this.spanData.name = name;
+        mutableSpanData().name = name;
         return this;
     }
 
     @Override
     public String getName() {
-        return this.spanData.getName();
+        return spanData().getName();
     }
 
     @Override
     public Instant getStartTimestamp() {
-        return Instant.ofEpochSecond(0L, this.spanData.getStartEpochNanos());
+        return Instant.ofEpochSecond(0L, spanData().getStartEpochNanos());
     }
 
     @Override
     public Instant getEndTimestamp() {
-        return Instant.ofEpochSecond(0L, this.spanData.getEndEpochNanos());
+        return Instant.ofEpochSecond(0L, spanData().getEndEpochNanos());
     }
 
     @Override
     public FinishedSpan setTags(Map<String, String> tags) {
-        this.spanData.tags.clear();
-        this.spanData.tags.putAll(tags.entrySet()
+        MutableSpanData spanData = mutableSpanData();
+        spanData.tags.clear();
+        spanData.tags.putAll(tags.entrySet()
             .stream()
             .collect(Collectors.toMap(e -> AttributeKey.stringKey(e.getKey()), Map.Entry::getValue)));
         return this;
@@ -107,15 +129,62 @@ public class OtelFinishedSpan implements FinishedSpan {
 
     @Override
     public Map<String, String> getTags() {
-        return this.spanData.tags.entrySet()
-            .stream()
-            .collect(Collectors.toMap(e -> e.getKey().getKey(), entry -> String.valueOf(entry.getValue())));
+        Map<String, String> tags = new HashMap<>();
+        if (this.mutableSpanData != null) {
+            this.mutableSpanData.tags.forEach((key, value) -> tags.put(key.getKey(), String.valueOf(value)));
+        }
+        else {
+            this.delegate.getAttributes().forEach((key, value) -> tags.put(key.getKey(), String.valueOf(value)));
+        }
+        return tags;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public String getTag(String key) {
+        AttributeKey<String> stringKey = AttributeKey.stringKey(key);
+        if (this.mutableSpanData != null) {
+            Object value = this.mutableSpanData.tags.get(stringKey);
+            if (value != null) {
+                return String.valueOf(value);
+            }
+            for (Map.Entry<AttributeKey, Object> entry : this.mutableSpanData.tags.entrySet()) {
+                if (entry.getKey().getKey().equals(key)) {
+                    return String.valueOf(entry.getValue());
+                }
+            }
+            return null;
+        }
+        Attributes attributes = this.delegate.getAttributes();
+        String value = attributes.get(stringKey);
+        if (value != null) {
+            return value;
+        }
+        // typed attribute, e.g. a long, stored under the same name
+        for (Map.Entry<AttributeKey<?>, Object> entry : attributes.asMap().entrySet()) {
+            if (entry.getKey().getKey().equals(key)) {
+                return String.valueOf(entry.getValue());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void forEachTag(BiConsumer<String, String> consumer) {
+        if (this.mutableSpanData != null) {
+            this.mutableSpanData.tags.forEach((key, value) -> consumer.accept(key.getKey(), String.valueOf(value)));
+        }
+        else {
+            this.delegate.getAttributes()
+                .forEach((key, value) -> consumer.accept(key.getKey(), String.valueOf(value)));
+        }
     }
 
     @Override
     public FinishedSpan setTypedTags(Map<String, Object> tags) {
-        this.spanData.tags.clear();
-        this.spanData.tags.putAll(tags.entrySet().stream().collect(Collectors.toMap(e -> {
+        MutableSpanData spanData = mutableSpanData();
+        spanData.tags.clear();
+        spanData.tags.putAll(tags.entrySet().stream().collect(Collectors.toMap(e -> {
             Object value = e.getValue();
             return getAttributeKey(e.getKey(), value);
         }, Map.Entry::getValue)));
@@ -138,15 +207,21 @@ public class OtelFinishedSpan implements FinishedSpan {
 
     @Override
     public Map<String, Object> getTypedTags() {
-        return this.spanData.tags.entrySet()
-            .stream()
-            .collect(Collectors.toMap(e -> e.getKey().getKey(), Map.Entry::getValue));
+        Map<String, Object> tags = new HashMap<>();
+        if (this.mutableSpanData != null) {
+            this.mutableSpanData.tags.forEach((key, value) -> tags.put(key.getKey(), value));
+        }
+        else {
+            this.delegate.getAttributes().forEach((key, value) -> tags.put(key.getKey(), value));
+        }
+        return tags;
     }
 
     @Override
     public FinishedSpan setEvents(Collection<Map.Entry<Long, String>> events) {
-        this.spanData.events.clear();
-        this.spanData.events.addAll(events.stream()
+        MutableSpanData spanData = mutableSpanData();
+        spanData.events.clear();
+        spanData.events.addAll(events.stream()
             .map(e -> EventData.create(e.getKey(), e.getValue(), Attributes.empty()))
             .collect(Collectors.toList()));
         return this;
@@ -154,25 +229,32 @@ public class OtelFinishedSpan implements FinishedSpan {
 
     @Override
     public Collection<Map.Entry<Long, String>> getEvents() {
-        return this.spanData.getEvents()
+        return spanData().getEvents()
             .stream()
             .map(e -> new AbstractMap.SimpleEntry<>(e.getEpochNanos(), e.getName()))
             .collect(Collectors.toList());
     }
 
+    @Override
+    public void forEachEvent(BiConsumer<Long, String> consumer) {
+        for (EventData event : spanData().getEvents()) {
+            consumer.accept(event.getEpochNanos(), event.getName());
+        }
+    }
+
     @Override
     public String getSpanId() {
-        return this.spanData.getSpanId();
+        return this.delegate.getSpanId();
     }
 
     @Override
     public String getParentId() {
-        return this.spanData.getParentSpanId();
+        return this.delegate.getParentSpanId();
     }
 
     @Override
     public String getRemoteIp() {
-        return getTags().get(SemanticAttributes.NET_SOCK_PEER_ADDR.getKey());
+        return getTag(SemanticAttributes.NET_SOCK_PEER_ADDR.getKey());
     }
 
     @Override
@@ -218,7 +300,7 @@ public class OtelFinishedSpan implements FinishedSpan {
 
     @Override
     public int getRemotePort() {
-        String port = getTags().get("net.peer.port");
+        String port = getTag("net.peer.port");
         if (port == null) {
             return 0;
         }
@@ -227,18 +309,18 @@ public class OtelFinishedSpan implements FinishedSpan {
 
     @Override
     public FinishedSpan setRemotePort(int port) {
-        this.spanData.tags.put(AttributeKey.longKey("net.peer.port"), String.valueOf(port));
+        mutableSpanData().tags.put(AttributeKey.longKey("net.peer.port"), String.valueOf(port));
         return this;
     }
 
     @Override
     public String getTraceId() {
-        return this.spanData.getTraceId();
+        return this.delegate.getTraceId();
     }
 
     @Override
     public Throwable getError() {
-        Attributes attributes = this.spanData.getEvents()
+        Attributes attributes = spanData().getEvents()
             .stream()
             .filter(e -> e.getName().equals("exception"))
             .findFirst()
@@ -252,7 +334,7 @@ public class OtelFinishedSpan implements FinishedSpan {
 
     @Override
     public FinishedSpan setError(Throwable error) {
-        this.spanData.getEvents()
+        mutableSpanData().getEvents()
             .add(EventData.create(System.nanoTime(), "exception",
                     Attributes.of(AttributeKey.stringKey("exception.message"), error.toString())));
         return this;
@@ -260,26 +342,30 @@ public class OtelFinishedSpan implements FinishedSpan {
 
     @Override
     public Span.Kind getKind() {
-        if (this.spanData.getKind() == SpanKind.INTERNAL) {
+        SpanKind kind = this.delegate.getKind();
+        if (kind == SpanKind.INTERNAL) {
             return null;
         }
-        return Span.Kind.valueOf(this.spanData.getKind().name());
+        return Span.Kind.valueOf(kind.name());
     }
 
     @Override
     public String getRemoteServiceName() {
-        return this.spanData.getAttributes().get(AttributeKey.stringKey("peer.service"));
+        if (this.mutableSpanData != null) {
+            return (String) this.mutableSpanData.tags.get(AttributeKey.stringKey("peer.service"));
+        }
+        return this.delegate.getAttributes().get(AttributeKey.stringKey("peer.service"));
     }
 
     @Override
     public FinishedSpan setRemoteServiceName(String remoteServiceName) {
-        this.spanData.tags.put(AttributeKey.stringKey("peer.service"), remoteServiceName);
+        mutableSpanData().tags.put(AttributeKey.stringKey("peer.service"), remoteServiceName);
         return this;
     }
 
     @Override
     public List<Link> getLinks() {
-        return this.spanData.getLinks()
+        return spanData().getLinks()
             .stream()
             .map(linkData -> new Link(OtelTraceContext.fromOtel(linkData.getSpanContext()),
                     linkData.getAttributes()
@@ -303,14 +389,14 @@ public class OtelFinishedSpan implements FinishedSpan {
         Map<String, Object> tags = link.getTags();
         AttributesBuilder builder = Attributes.builder();
         tags.forEach((s, o) -> builder.put(getAttributeKey(s, o), o));
-        this.spanData.getLinks()
+        mutableSpanData().getLinks()
             .add(LinkData.create(OtelTraceContext.toOtelSpanContext(traceContext), builder.build()));
         return this;
     }
 
     @Override
     public String toString() {
-        return "SpanDataToReportedSpan{" + "spanData=" + spanData + '}';
+        return "SpanDataToReportedSpan{" + "spanData=" + spanData() + '}';
     }
 
     /**
@@ -15,7 +15,12 @@
  */
 package io.micrometer.tracing.otel.bridge;
 
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.common.lang.Nullable;
 import io.micrometer.tracing.Span;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.semconv.trace.attributes.SemanticAttributes;
@@ -36,6 +41,9 @@ class OtelSpan implements Span {
 
     private final AtomicReference<Context> context;
 
+    @Nullable
+    private volatile OtelTraceContext traceContext;
+
     OtelSpan(io.opentelemetry.api.trace.Span delegate) {
         this.delegate = delegate;
         if (delegate instanceof SpanFromSpanContext) {
@@ -52,6 +60,10 @@ class OtelSpan implements Span {
         this.context = new AtomicReference<>(context);
     }
 
+    Context storedContext() {
+        return this.context.get();
+    }
+
     static io.opentelemetry.api.trace.Span toOtel(Span span) {
         return ((OtelSpan) span).delegate;
     }
@@ -74,7 +86,13 @@ class OtelSpan implements Span {
         if (this.delegate == null) {
             return null;
         }
-        return new OtelTraceContext(this.context, this.delegate.getSpanContext(), this.delegate);
+        OtelTraceContext traceContext = this.traceContext;
+        if (traceContext == null) {
+            // span and context reference never change, so the trace context can be reused
+            traceContext = new OtelTraceContext(this.context, this.delegate.getSpanContext(), this.delegate);
+            this.traceContext = traceContext;
+        }
+        return traceContext;
     }
 
     @Override
@@ -125,6 +143,23 @@ class OtelSpan implements Span {
         return new OtelSpan(this.delegate);
     }
 
+    @Override
+    public Span tagAll(KeyValues keyValues) {
+        Attributes attributes = toAttributes(keyValues);
+        if (!attributes.isEmpty()) {
+            this.delegate.setAllAttributes(attributes);
+        }
+        return this;
+    }
+
+    static Attributes toAttributes(KeyValues keyValues) {
+        AttributesBuilder builder = Attributes.builder();
+        for (KeyValue keyValue : keyValues) {
+            builder.put(keyValue.getKey(), keyValue.getValue());
+        }
+        return builder.build();
+    }
+
     @Override
     public void end(long time, TimeUnit timeUnit) {
         this.delegate.end(time, timeUnit);
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import io.micrometer.common.KeyValues;
 import io.micrometer.common.util.StringUtils;
 import io.micrometer.tracing.Link;
 import io.micrometer.tracing.Span;
@@ -108,6 +109,15 @@ class OtelSpanBuilder implements Span.Builder {
         return this;
     }
 
+    @Override
+    public Span.Builder tagAll(KeyValues keyValues) {
+        Attributes attributes = OtelSpan.toAttributes(keyValues);
+        if (!attributes.isEmpty()) {
+            this.delegate.setAllAttributes(attributes);
+        }
+        return this;
+    }
+
     @Override
     public Span.Builder error(Throwable throwable) {
         this.error = throwable;
@@ -39,6 +39,9 @@ public class OtelTraceContext implements TraceContext {
 
     final Span span;
 
+    @Nullable
+    private volatile SpanFromSpanContext spanFromSpanContext;
+
     OtelTraceContext(Context context, SpanContext delegate, @Nullable Span span) {
         this(new AtomicReference<>(context), delegate, span);
     }
@@ -143,6 +146,20 @@ public class OtelTraceContext implements TraceContext {
         return this.delegate;
     }
 
+    /**
+     * Returns the span to be stored in the OTel context when this context is put in
+     * scope. Created once and reused, since the span and its context never change.
+     * @return span from this context
+     */
+    SpanFromSpanContext spanFromSpanContext() {
+        SpanFromSpanContext spanFromSpanContext = this.spanFromSpanContext;
+        if (spanFromSpanContext == null) {
+            spanFromSpanContext = new SpanFromSpanContext(this.span, this.delegate, this);
+            this.spanFromSpanContext = spanFromSpanContext;
+        }
+        return spanFromSpanContext;
+    }
+
     void updateContext(Context context) {
         this.context.set(context);
     }
@@ -19,6 +19,7 @@ import io.micrometer.tracing.*;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.context.Scope;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -112,11 +113,13 @@ public class OtelTracer implements Tracer {
 
     @Override
     public Span currentSpan() {
-        io.opentelemetry.api.trace.Span currentSpan = io.opentelemetry.api.trace.Span.current();
+        Context current = Context.current();
+        io.opentelemetry.api.trace.Span currentSpan = io.opentelemetry.api.trace.Span.fromContext(current);
         if (currentSpan == null || currentSpan.equals(io.opentelemetry.api.trace.Span.getInvalid())) {
+            CurrentContextWrappers.clear();
             return null;
         }
-        return new OtelSpan(currentSpan);
+        return CurrentContextWrappers.span(current, currentSpan);
     }
 
     @Override
@@ -193,6 +196,29 @@ public class OtelTracer implements Tracer {
          */
         void publishEvent(Object event);
 
+        /**
+         * Whether any listener reacts to events of the given type. Consulted once when
+         * the publisher is used, e.g. by {@link EventPublishingContextWrapper}, to avoid
+         * creating events nobody listens to.
+         * @param eventType type of the event
+         * @return {@code true} when events of this type should be published
+         * @since 1.2.0
+         */
+        default boolean supportsEventType(Class<?> eventType) {
+            return true;
+        }
+
+        /**
+         * Creates a publisher that passes events to the given listeners, skipping the
+         * ones that do not support the event type.
+         * @param listeners event listeners
+         * @return event publisher
+         * @since 1.2.0
+         */
+        static EventPublisher of(List<EventListener> listeners) {
+            return new ListenersEventPublisher(listeners);
+        }
+
     }
 
 }
@@ -21,7 +21,10 @@ import io.micrometer.tracing.http.HttpRequest;
 import io.micrometer.tracing.SamplerFunction;
 
 /**
- * Decides if sampling should take place for the given request.
+ * Decides if sampling should take place for the given request. Requests matching the
+ * skip pattern are never sampled, the decision for any other request is taken by an
+ * optional delegate (e.g. a
+ * {@link io.micrometer.tracing.sampler.TargetThroughputHttpSampler}).
  *
  * @author Marcin Grzejszczak
  * @since 1.0.0
@@ -30,12 +33,25 @@ public class SkipPatternSampler implements SamplerFunction<HttpRequest> {
 
     private final Pattern pattern;
 
+    private final SamplerFunction<HttpRequest> delegate;
+
     /**
      * Creates a new instance of {@link SkipPatternSampler}.
      * @param pattern skip pattern
      */
     public SkipPatternSampler(Pattern pattern) {
+        this(pattern, SamplerFunction.deferDecision());
+    }
+
+    /**
+     * Creates a new instance of {@link SkipPatternSampler}.
+     * @param pattern skip pattern
+     * @param delegate sampler function deciding for requests that aren't skipped
+     * @since 1.2.0
+     */
+    public SkipPatternSampler(Pattern pattern, SamplerFunction<HttpRequest> delegate) {
         this.pattern = pattern;
+        this.delegate = delegate;
     }
 
     @Override
@@ -45,7 +61,7 @@ public class SkipPatternSampler implements SamplerFunction<HttpRequest> {
         if (shouldSkip) {
             return false;
         }
-        return null;
+        return this.delegate.trySample(request);
     }
 
 }
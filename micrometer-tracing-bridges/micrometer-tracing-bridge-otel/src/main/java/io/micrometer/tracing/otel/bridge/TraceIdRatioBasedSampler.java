@@ -0,0 +1,76 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.otel.bridge;
+
+import java.util.List;
+
+import io.micrometer.tracing.sampler.TraceIdRatioBasedSamplerFunction;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+/**
+ * OpenTelemetry {@link Sampler} that delegates to a
+ * {@link TraceIdRatioBasedSamplerFunction}, so that it takes the same decision as the
+ * Brave bridge for the same trace. Typically used as the root sampler of
+ * {@link Sampler#parentBased(Sampler)}.
+ *
+ * @since 1.2.0
+ */
+public class TraceIdRatioBasedSampler implements Sampler {
+
+    private static final SamplingResult RECORD_AND_SAMPLE = SamplingResult.recordAndSample();
+
+    private static final SamplingResult DROP = SamplingResult.drop();
+
+    private final TraceIdRatioBasedSamplerFunction samplerFunction;
+
+    /**
+     * Creates a new instance of {@link TraceIdRatioBasedSampler}.
+     * @param ratio ratio of traces to sample, between {@code 0} and {@code 1}
+     */
+    public TraceIdRatioBasedSampler(double ratio) {
+        this(TraceIdRatioBasedSamplerFunction.create(ratio));
+    }
+
+    /**
+     * Creates a new instance of {@link TraceIdRatioBasedSampler}.
+     * @param samplerFunction trace id based sampler function
+     */
+    public TraceIdRatioBasedSampler(TraceIdRatioBasedSamplerFunction samplerFunction) {
+        this.samplerFunction = samplerFunction;
+    }
+
+    @Override
+    public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+            Attributes attributes, List<LinkData> parentLinks) {
+        return Boolean.TRUE.equals(this.samplerFunction.trySample(traceId)) ? RECORD_AND_SAMPLE : DROP;
+    }
+
+    @Override
+    public String getDescription() {
+        return this.samplerFunction.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getDescription();
+    }
+
+}
@@ -26,10 +26,11 @@ import io.opentelemetry.context.propagation.TextMapGetter;
 import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.context.propagation.TextMapSetter;
 
-import java.util.AbstractMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * {@link TextMapPropagator} that adds compatible baggage entries (name of the field means
@@ -51,6 +52,11 @@ public class BaggageTextMapPropagator implements TextMapPropagator {
 
     private final List<String> remoteFields;
 
+    /**
+     * Remote fields looked up without regard to case and without allocating.
+     */
+    private final Set<String> remoteFieldLookup;
+
     private final BaggageManager baggageManager;
 
     /**
@@ -60,6 +66,8 @@ public class BaggageTextMapPropagator implements TextMapPropagator {
      */
     public BaggageTextMapPropagator(List<String> remoteFields, BaggageManager baggageManager) {
         this.remoteFields = remoteFields;
+        this.remoteFieldLookup = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        this.remoteFieldLookup.addAll(remoteFields);
         this.baggageManager = baggageManager;
     }
 
@@ -70,28 +78,34 @@ public class BaggageTextMapPropagator implements TextMapPropagator {
 
     @Override
     public <C> void inject(Context context, C c, TextMapSetter<C> setter) {
-        List<Map.Entry<String, String>> baggageEntries = applicableBaggageEntries(c);
-        baggageEntries.forEach(e -> setter.set(c, e.getKey(), e.getValue()));
-    }
-
-    private <C> List<Map.Entry<String, String>> applicableBaggageEntries(C c) {
-        Map<String, String> allBaggage = this.baggageManager.getAllBaggage();
-        List<String> lowerCaseKeys = this.remoteFields.stream().map(String::toLowerCase).collect(Collectors.toList());
-        return allBaggage.entrySet()
-            .stream()
-            .filter(e -> lowerCaseKeys.contains(e.getKey().toLowerCase()))
-            .collect(Collectors.toList());
+        if (this.remoteFieldLookup.isEmpty()) {
+            return;
+        }
+        this.baggageManager.getAllBaggage().forEach((key, value) -> {
+            if (this.remoteFieldLookup.contains(key)) {
+                setter.set(c, key, value);
+            }
+        });
     }
 
     @Override
     public <C> Context extract(Context context, C c, TextMapGetter<C> getter) {
-        Map<String, String> baggageEntries = this.remoteFields.stream()
-            .map(s -> new AbstractMap.SimpleEntry<>(s, getter.get(c, s)))
-            .filter(e -> e.getValue() != null)
-            .collect(Collectors.toMap((e) -> e.getKey(), (e) -> e.getValue()));
+        Map<String, String> baggageEntries = null;
+        for (String remoteField : this.remoteFields) {
+            String value = getter.get(c, remoteField);
+            if (value != null) {
+                if (baggageEntries == null) {
+                    baggageEntries = new LinkedHashMap<>();
+                }
+                baggageEntries.put(remoteField, value);
+            }
+        }
+        if (baggageEntries == null) {
+            return context;
+        }
         BaggageBuilder builder = Baggage.current().toBuilder();
-        baggageEntries
-            .forEach((key, value) -> builder.put(key, value, BaggageEntryMetadata.create(PROPAGATION_UNLIMITED)));
+        BaggageEntryMetadata metadata = BaggageEntryMetadata.create(PROPAGATION_UNLIMITED);
+        baggageEntries.forEach((key, value) -> builder.put(key, value, metadata));
         Baggage.fromContext(context)
             .forEach((s, baggageEntry) -> builder.put(s, baggageEntry.getValue(), baggageEntry.getMetadata()));
         Baggage baggage = builder.build();
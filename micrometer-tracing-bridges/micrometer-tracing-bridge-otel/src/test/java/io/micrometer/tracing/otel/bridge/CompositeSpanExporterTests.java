@@ -67,6 +67,25 @@ class CompositeSpanExporterTests {
         BDDAssertions.then(resultCode.isSuccess()).isTrue();
     }
 
+    @Test
+    void should_pass_unmodified_span_data_to_exporter_without_copying() {
+        SpanExporter exporter = mock(SpanExporter.class);
+        given(exporter.export(BDDMockito.any())).willReturn(CompletableResultCode.ofSuccess());
+        SpanExportingPredicate predicate = span -> span.getName().equals("foo");
+        SpanFilter filter = span -> span;
+        SpanReporter reporter = mock(SpanReporter.class);
+
+        SpanData fooSpan = new CustomSpanData("foo");
+
+        new CompositeSpanExporter(Collections.singleton(exporter), Collections.singletonList(predicate),
+                Collections.singletonList(reporter), Collections.singletonList(filter))
+            .export(Collections.singletonList(fooSpan));
+
+        then(reporter).should().report(BDDMockito.argThat(finishedSpan -> "foo".equals(finishedSpan.getName())));
+        then(exporter).should()
+            .export(BDDMockito.argThat(spans -> spans.size() == 1 && spans.iterator().next() == fooSpan));
+    }
+
     @Test
     void should_flush_all_exporters() {
         SpanExporter exporter = mock(SpanExporter.class);
@@ -0,0 +1,121 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.otel.bridge;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.ContextStorage;
+import io.opentelemetry.context.Scope;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class EventPublishingContextWrapperTests {
+
+    static final ContextKey<String> KEY = ContextKey.named("key");
+
+    SimpleContextStorage storage = new SimpleContextStorage();
+
+    @Test
+    void should_not_wrap_storage_when_no_listener_is_present() {
+        EventPublishingContextWrapper wrapper = new EventPublishingContextWrapper(
+                OtelTracer.EventPublisher.of(Collections.emptyList()));
+
+        then(wrapper.apply(storage)).isSameAs(storage);
+    }
+
+    @Test
+    void should_publish_all_events_for_a_plain_publisher() {
+        List<Object> events = new ArrayList<>();
+        ContextStorage wrapped = new EventPublishingContextWrapper(events::add).apply(storage);
+
+        try (Scope scope = wrapped.attach(Context.root().with(KEY, "value"))) {
+            then(events).hasSize(1).first().isInstanceOf(EventPublishingContextWrapper.ScopeAttachedEvent.class);
+        }
+
+        then(events).hasSize(3);
+        then(events.get(1)).isInstanceOf(EventPublishingContextWrapper.ScopeClosedEvent.class);
+        then(events.get(2)).isInstanceOf(EventPublishingContextWrapper.ScopeRestoredEvent.class);
+    }
+
+    @Test
+    void should_publish_only_supported_events_and_reuse_closed_event() {
+        RecordingListener closedListener = new RecordingListener(EventPublishingContextWrapper.ScopeClosedEvent.class);
+        RecordingListener attachedListener = new RecordingListener(
+                EventPublishingContextWrapper.ScopeAttachedEvent.class);
+        ContextStorage wrapped = new EventPublishingContextWrapper(
+                OtelTracer.EventPublisher.of(Arrays.asList(closedListener, attachedListener)))
+            .apply(storage);
+
+        wrapped.attach(Context.root().with(KEY, "first")).close();
+        wrapped.attach(Context.root().with(KEY, "second")).close();
+
+        then(attachedListener.events).hasSize(2)
+            .allMatch(event -> event instanceof EventPublishingContextWrapper.ScopeAttachedEvent);
+        then(closedListener.events).hasSize(2)
+            .allMatch(event -> event instanceof EventPublishingContextWrapper.ScopeClosedEvent);
+        then(closedListener.events.get(0)).isSameAs(closedListener.events.get(1));
+    }
+
+    static class RecordingListener implements EventListener {
+
+        final Class<?> eventType;
+
+        final List<Object> events = new ArrayList<>();
+
+        RecordingListener(Class<?> eventType) {
+            this.eventType = eventType;
+        }
+
+        @Override
+        public void onEvent(Object event) {
+            this.events.add(event);
+        }
+
+        @Override
+        public boolean supportsEventType(Class<?> eventType) {
+            return this.eventType == eventType;
+        }
+
+    }
+
+    static class SimpleContextStorage implements ContextStorage {
+
+        Context current = Context.root();
+
+        @Override
+        public Scope attach(Context toAttach) {
+            Context previous = this.current;
+            if (previous == toAttach) {
+                return Scope.noop();
+            }
+            this.current = toAttach;
+            return () -> this.current = previous;
+        }
+
+        @Override
+        public Context current() {
+            return this.current;
+        }
+
+    }
+
+}
@@ -86,4 +86,55 @@ class OtelBaggageManagerTests {
         }
     }
 
+    @Test
+    void should_look_up_baggage_ignoring_case_and_reuse_the_index_for_the_same_context() {
+        Context context = Context.current()
+            .with(io.opentelemetry.api.baggage.Baggage.builder().put("Foo", "bar").put("baz", "qux").build());
+
+        try (Scope scope = context.makeCurrent()) {
+            BaggageIndex index = otelBaggageManager.currentBaggage();
+
+            BDDAssertions.then(otelBaggageManager.getBaggage("foo").get()).isEqualTo("bar");
+            BDDAssertions.then(otelBaggageManager.getBaggage("BAZ").get()).isEqualTo("qux");
+            BDDAssertions.then(otelBaggageManager.getAllBaggage()).containsEntry("Foo", "bar")
+                .containsEntry("baz", "qux")
+                .hasSize(2);
+            BDDAssertions.then(otelBaggageManager.currentBaggage()).isSameAs(index);
+        }
+    }
+
+    @Test
+    void should_drop_the_index_of_the_thread_once_no_baggage_is_present() {
+        Context context = Context.current()
+            .with(io.opentelemetry.api.baggage.Baggage.builder().put("foo", "bar").build());
+        BaggageIndex index;
+        try (Scope scope = context.makeCurrent()) {
+            index = otelBaggageManager.currentBaggage();
+        }
+
+        BDDAssertions.then(otelBaggageManager.currentBaggage().getEntries()).isEmpty();
+
+        try (Scope scope = context.makeCurrent()) {
+            BDDAssertions.then(otelBaggageManager.currentBaggage()).isNotSameAs(index);
+        }
+    }
+
+    @Test
+    void should_prefer_current_baggage_over_the_one_of_the_current_trace_context() {
+        OtelCurrentTraceContext currentTraceContext = new OtelCurrentTraceContext();
+        OtelBaggageManager manager = new OtelBaggageManager(currentTraceContext, Collections.emptyList(),
+                Collections.emptyList());
+        Context parent = Context.current()
+            .with(io.opentelemetry.api.baggage.Baggage.builder().put("foo", "parent").put("bar", "parent").build());
+        Span span = otelTracer.spanBuilder("foo").setParent(parent).startSpan();
+
+        try (Scope parentScope = parent.with(span).makeCurrent()) {
+            Context child = Context.current()
+                .with(io.opentelemetry.api.baggage.Baggage.builder().put("foo", "child").build());
+            try (Scope childScope = child.makeCurrent()) {
+                BDDAssertions.then(manager.getBaggage("foo").get()).isEqualTo("child");
+            }
+        }
+    }
+
 }
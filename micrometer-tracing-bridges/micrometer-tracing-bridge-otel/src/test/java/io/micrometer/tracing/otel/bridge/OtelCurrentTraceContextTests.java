@@ -0,0 +1,167 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.otel.bridge;
+
+import io.micrometer.tracing.CurrentTraceContext;
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class OtelCurrentTraceContextTests {
+
+    SdkTracerProvider sdkTracerProvider = SdkTracerProvider.builder()
+        .setSampler(io.opentelemetry.sdk.trace.samplers.Sampler.alwaysOn())
+        .build();
+
+    io.opentelemetry.api.trace.Tracer otelTracer = sdkTracerProvider.get("io.micrometer.micrometer-tracing");
+
+    OtelCurrentTraceContext currentTraceContext = new OtelCurrentTraceContext();
+
+    @Test
+    void should_not_attach_a_new_context_when_span_is_already_in_scope() {
+        Span span = otelTracer.spanBuilder("foo").startSpan();
+        OtelTraceContext traceContext = new OtelTraceContext(span);
+
+        try (CurrentTraceContext.Scope scope = currentTraceContext.newScope(traceContext)) {
+            Context attached = Context.current();
+            then(Span.current().getSpanContext()).isEqualTo(span.getSpanContext());
+
+            try (CurrentTraceContext.Scope nested = currentTraceContext.newScope(traceContext)) {
+                then(Context.current()).isSameAs(attached);
+            }
+
+            then(Context.current()).isSameAs(attached);
+        }
+
+        then(Span.current().getSpanContext().isValid()).isFalse();
+        span.end();
+    }
+
+    @Test
+    void should_attach_a_new_context_when_another_span_is_in_scope() {
+        Span parent = otelTracer.spanBuilder("parent").startSpan();
+        Span child = otelTracer.spanBuilder("child").startSpan();
+        OtelTraceContext parentContext = new OtelTraceContext(parent);
+        OtelTraceContext childContext = new OtelTraceContext(child);
+
+        try (CurrentTraceContext.Scope scope = currentTraceContext.newScope(parentContext)) {
+            try (CurrentTraceContext.Scope nested = currentTraceContext.newScope(childContext)) {
+                then(Span.current().getSpanContext()).isEqualTo(child.getSpanContext());
+            }
+
+            then(Span.current().getSpanContext()).isEqualTo(parent.getSpanContext());
+        }
+
+        child.end();
+        parent.end();
+    }
+
+    @Test
+    void should_merge_baggage_from_current_and_trace_context() {
+        Span span = otelTracer.spanBuilder("foo").startSpan();
+        Context withBaggage = Context.root().with(Baggage.builder().put("old", "value").build());
+        OtelTraceContext traceContext = new OtelTraceContext(withBaggage, span.getSpanContext(), span);
+
+        try (io.opentelemetry.context.Scope current = Baggage.builder()
+            .put("current", "value")
+            .build()
+            .makeCurrent()) {
+            try (CurrentTraceContext.Scope scope = currentTraceContext.newScope(traceContext)) {
+                then(Baggage.current().asMap()).containsOnlyKeys("old", "current");
+            }
+
+            then(Baggage.current().asMap()).containsOnlyKeys("current");
+        }
+
+        span.end();
+    }
+
+    @Test
+    void should_reuse_span_stored_in_context() {
+        Span span = otelTracer.spanBuilder("foo").startSpan();
+        OtelTraceContext traceContext = new OtelTraceContext(span);
+
+        then(traceContext.spanFromSpanContext()).isSameAs(traceContext.spanFromSpanContext());
+        then(traceContext.spanFromSpanContext().getSpanContext()).isEqualTo(span.getSpanContext());
+
+        span.end();
+    }
+
+    @Test
+    void should_reuse_wrappers_while_the_same_context_is_current() {
+        Span span = otelTracer.spanBuilder("foo").startSpan();
+        OtelTracer tracer = new OtelTracer(otelTracer, currentTraceContext, event -> {
+        });
+
+        try (io.opentelemetry.context.Scope scope = span.makeCurrent()) {
+            then(currentTraceContext.context()).isSameAs(currentTraceContext.context());
+            then(tracer.currentSpan()).isSameAs(tracer.currentSpan());
+            then(tracer.currentSpan().context()).isSameAs(tracer.currentSpan().context());
+            then(currentTraceContext.context().spanId()).isEqualTo(span.getSpanContext().getSpanId());
+
+            Span child = otelTracer.spanBuilder("child").startSpan();
+            io.micrometer.tracing.Span parentWrapper = tracer.currentSpan();
+            try (io.opentelemetry.context.Scope childScope = child.makeCurrent()) {
+                then(tracer.currentSpan()).isNotSameAs(parentWrapper);
+                then(tracer.currentSpan().context().spanId()).isEqualTo(child.getSpanContext().getSpanId());
+            }
+            child.end();
+        }
+
+        then(tracer.currentSpan()).isNull();
+        then(currentTraceContext.context()).isNull();
+        span.end();
+    }
+
+    @Test
+    void should_not_reuse_wrappers_whose_context_was_replaced_by_baggage() {
+        Span span = otelTracer.spanBuilder("foo").startSpan();
+        OtelTracer tracer = new OtelTracer(otelTracer, currentTraceContext, event -> {
+        });
+        Context withBaggage = Context.current().with(Baggage.builder().put("foo", "bar").build());
+
+        try (io.opentelemetry.context.Scope scope = span.makeCurrent()) {
+            OtelTraceContext traceContext = (OtelTraceContext) currentTraceContext.context();
+            OtelSpan otelSpan = (OtelSpan) tracer.currentSpan();
+            traceContext.updateContext(withBaggage);
+            otelSpan.context().updateContext(withBaggage);
+
+            then(currentTraceContext.context()).isNotSameAs(traceContext);
+            then(((OtelTraceContext) currentTraceContext.context()).context()).isSameAs(Context.current());
+            then(tracer.currentSpan()).isNotSameAs(otelSpan);
+            then(((OtelSpan) tracer.currentSpan()).storedContext()).isSameAs(Context.current());
+        }
+
+        span.end();
+    }
+
+    @Test
+    void should_return_the_trace_context_that_was_put_in_scope() {
+        Span span = otelTracer.spanBuilder("foo").startSpan();
+        OtelTraceContext traceContext = new OtelTraceContext(span);
+
+        try (CurrentTraceContext.Scope scope = currentTraceContext.newScope(traceContext)) {
+            then(currentTraceContext.context()).isSameAs(traceContext);
+        }
+
+        span.end();
+    }
+
+}
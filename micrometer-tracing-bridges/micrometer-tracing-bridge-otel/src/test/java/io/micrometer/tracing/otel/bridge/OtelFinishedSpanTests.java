@@ -26,6 +26,7 @@ import java.util.concurrent.TimeUnit;
 import io.micrometer.tracing.Link;
 import io.micrometer.tracing.Span;
 import io.micrometer.tracing.exporter.FinishedSpan;
+import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.trace.SpanContext;
 import io.opentelemetry.api.trace.SpanKind;
@@ -56,6 +57,23 @@ class OtelFinishedSpanTests {
         then(span.getName()).isEqualTo("bar");
     }
 
+    @Test
+    void should_copy_span_data_only_when_modified() {
+        SpanData spanData = new CustomSpanData();
+        FinishedSpan span = OtelFinishedSpan.fromOtel(spanData);
+        span.getName();
+        span.getTags();
+        span.getEvents();
+
+        then(OtelFinishedSpan.toOtel(span)).isSameAs(spanData);
+
+        span.setName("bar");
+
+        then(OtelFinishedSpan.toOtel(span)).isNotSameAs(spanData);
+        then(OtelFinishedSpan.toOtel(span).getName()).isEqualTo("bar");
+        then(spanData.getName()).isEqualTo("foo");
+    }
+
     @Test
     void should_set_tags() {
         FinishedSpan span = OtelFinishedSpan.fromOtel(new CustomSpanData());
@@ -68,6 +86,42 @@ class OtelFinishedSpanTests {
         then(span.getTags().get("foo")).isEqualTo("bar");
     }
 
+    @Test
+    void should_look_up_and_visit_tags_without_copying() {
+        FinishedSpan span = OtelFinishedSpan.fromOtel(new CustomSpanData() {
+            @Override
+            public Attributes getAttributes() {
+                return Attributes.of(AttributeKey.stringKey("foo"), "bar", AttributeKey.longKey("port"), 80L);
+            }
+        });
+
+        then(span.getTag("foo")).isEqualTo("bar");
+        then(span.getTag("port")).isEqualTo("80");
+        then(span.getTag("missing")).isNull();
+        Map<String, String> tags = new HashMap<>();
+        span.forEachTag(tags::put);
+        then(tags).containsEntry("foo", "bar").containsEntry("port", "80").hasSize(2);
+
+        span.setRemoteServiceName("service");
+
+        then(span.getTag("foo")).isEqualTo("bar");
+        then(span.getTag("port")).isEqualTo("80");
+        then(span.getTag("peer.service")).isEqualTo("service");
+    }
+
+    @Test
+    void should_visit_events() {
+        FinishedSpan span = OtelFinishedSpan.fromOtel(new CustomSpanData());
+        List<Map.Entry<Long, String>> eventData = new ArrayList<>();
+        eventData.add(new AbstractMap.SimpleEntry<>(1L, "foo"));
+        span.setEvents(eventData);
+
+        Map<Long, String> events = new HashMap<>();
+        span.forEachEvent(events::put);
+
+        then(events).containsEntry(1L, "foo").hasSize(1);
+    }
+
     @Test
     void should_set_typed_tags() {
         FinishedSpan span = OtelFinishedSpan.fromOtel(new CustomSpanData());
@@ -15,6 +15,8 @@
  */
 package io.micrometer.tracing.otel.bridge;
 
+import io.micrometer.common.KeyValues;
+import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.context.propagation.ContextPropagators;
@@ -66,4 +68,17 @@ class OtelSpanTests {
         then(otelSpanFromSpanContext).isEqualTo(otelSpan);
     }
 
+    @Test
+    void should_set_all_tags_at_once() {
+        OtelSpan otelSpan = new OtelSpan(otelTracer.spanBuilder("foo").startSpan());
+
+        then(otelSpan.tagAll(KeyValues.of("foo", "bar", "baz", "baz2"))).isSameAs(otelSpan);
+        otelSpan.tagAll(KeyValues.empty()).end();
+
+        SpanData poll = arrayListSpanProcessor.spans().poll();
+        then(poll.getAttributes().asMap()).hasSize(2)
+            .containsEntry(AttributeKey.stringKey("foo"), "bar")
+            .containsEntry(AttributeKey.stringKey("baz"), "baz2");
+    }
+
 }
@@ -0,0 +1,49 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.otel.bridge;
+
+import java.util.Collections;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.IdGenerator;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class TraceIdRatioBasedSamplerTests {
+
+    @Test
+    void should_take_the_same_decisions_as_the_sdk_trace_id_ratio_based_sampler() {
+        Sampler sampler = new TraceIdRatioBasedSampler(0.3);
+        Sampler sdkSampler = Sampler.traceIdRatioBased(0.3);
+
+        for (int i = 0; i < 1_000; i++) {
+            String traceId = IdGenerator.random().generateTraceId();
+
+            then(sampler.shouldSample(Context.root(), traceId, "span", SpanKind.INTERNAL, Attributes.empty(),
+                    Collections.emptyList())
+                .getDecision())
+                .isEqualTo(sdkSampler
+                    .shouldSample(Context.root(), traceId, "span", SpanKind.INTERNAL, Attributes.empty(),
+                            Collections.emptyList())
+                    .getDecision());
+        }
+    }
+
+}
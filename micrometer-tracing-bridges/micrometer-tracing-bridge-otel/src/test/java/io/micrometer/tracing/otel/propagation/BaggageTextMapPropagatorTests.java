@@ -20,6 +20,7 @@ import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
 import io.opentelemetry.api.baggage.Baggage;
 import io.opentelemetry.api.baggage.BaggageEntry;
 import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
 import io.opentelemetry.context.propagation.TextMapGetter;
 import org.assertj.core.api.BDDAssertions;
 import org.junit.jupiter.api.Test;
@@ -55,4 +56,63 @@ class BaggageTextMapPropagatorTests {
         BDDAssertions.then(newBaggage).containsOnlyKeys("foo", "foo2", "baz");
     }
 
+    @Test
+    void should_return_the_same_context_when_carrier_has_no_remote_fields() {
+        Baggage baggage = Baggage.current().toBuilder().put("foo", "bar").build();
+        Context parent = Context.current().with(baggage);
+        List<String> remoteFields = Arrays.asList("foo", "foo2");
+        BaggageTextMapPropagator baggageTextMapPropagator = new BaggageTextMapPropagator(remoteFields,
+                new OtelBaggageManager(new OtelCurrentTraceContext(), remoteFields, Collections.emptyList()));
+        Map<String, String> carrier = new HashMap<>();
+        carrier.put("other", "value");
+
+        Context extracted = baggageTextMapPropagator.extract(parent, carrier, new TextMapGetter<Map<String, String>>() {
+            @Override
+            public Iterable<String> keys(Map<String, String> carrier) {
+                return carrier.keySet();
+            }
+
+            @Override
+            public String get(Map<String, String> carrier, String key) {
+                return carrier.get(key);
+            }
+        });
+
+        BDDAssertions.then(extracted).isSameAs(parent);
+    }
+
+    @Test
+    void should_inject_only_remote_fields_ignoring_case() {
+        Baggage current = Baggage.builder().put("FOO", "bar").put("Foo2", "bar2").put("local", "local").build();
+        List<String> remoteFields = Arrays.asList("foo", "foo2");
+        BaggageTextMapPropagator baggageTextMapPropagator = new BaggageTextMapPropagator(remoteFields,
+                new OtelBaggageManager(new OtelCurrentTraceContext(), remoteFields, Collections.emptyList()));
+        Map<String, String> carrier = new HashMap<>();
+
+        try (Scope scope = Context.current().with(current).makeCurrent()) {
+            baggageTextMapPropagator.inject(Context.current(), carrier, Map::put);
+        }
+
+        BDDAssertions.then(carrier)
+            .containsOnlyKeys("FOO", "Foo2")
+            .containsEntry("FOO", "bar")
+            .containsEntry("Foo2", "bar2");
+    }
+
+    @Test
+    void should_inject_baggage_of_the_baggage_manager_and_not_of_the_injected_context() {
+        Baggage current = Baggage.builder().put("foo", "current").build();
+        Baggage fromContext = Baggage.builder().put("foo", "context").put("foo2", "context2").build();
+        List<String> remoteFields = Arrays.asList("foo", "foo2");
+        BaggageTextMapPropagator baggageTextMapPropagator = new BaggageTextMapPropagator(remoteFields,
+                new OtelBaggageManager(new OtelCurrentTraceContext(), remoteFields, Collections.emptyList()));
+        Map<String, String> carrier = new HashMap<>();
+
+        try (Scope scope = Context.current().with(current).makeCurrent()) {
+            baggageTextMapPropagator.inject(Context.root().with(fromContext), carrier, Map::put);
+        }
+
+        BDDAssertions.then(carrier).containsOnlyKeys("foo").containsEntry("foo", "current");
+    }
+
 }
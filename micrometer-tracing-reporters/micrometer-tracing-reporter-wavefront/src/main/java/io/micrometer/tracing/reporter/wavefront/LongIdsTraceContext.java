@@ -0,0 +1,46 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.reporter.wavefront;
+
+import io.micrometer.tracing.TraceContext;
+
+/**
+ * {@link TraceContext} that can hand out its identifiers as {@code long} values, so
+ * that {@link WavefrontSpanHandler} doesn't have to parse them from their hex form.
+ */
+interface LongIdsTraceContext extends TraceContext {
+
+    /**
+     * @return upper 64 bits of the trace id, {@code 0} for 64-bit trace ids
+     */
+    long traceIdHigh();
+
+    /**
+     * @return lower 64 bits of the trace id
+     */
+    long traceIdLow();
+
+    /**
+     * @return span id
+     */
+    long spanIdAsLong();
+
+    /**
+     * @return parent span id or {@code 0} when there's no parent
+     */
+    long parentIdAsLong();
+
+}
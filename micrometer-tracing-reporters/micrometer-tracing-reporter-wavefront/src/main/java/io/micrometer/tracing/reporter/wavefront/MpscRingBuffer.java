@@ -0,0 +1,279 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.reporter.wavefront;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded, lock-free {@link BlockingQueue} backed by a ring of pre-allocated slots. Based
+ * on Dmitry Vyukov's bounded queue: every slot carries a sequence number that tells
+ * producers and consumers whether the slot is free to write or ready to read, so neither
+ * side takes a lock and no node is allocated per element.
+ *
+ * <p>
+ * Any number of threads may offer elements. The queue is optimized for a single thread
+ * calling {@link #take()} (only one thread may be parked waiting for elements), but
+ * {@link #poll()} is safe to call from any thread, which is needed to evict the oldest
+ * element when the queue is full. A consumer waiting for elements is parked without
+ * polling and woken up by the next {@link #offer(Object)}.
+ *
+ * @param <E> element type
+ * @since 1.2.0
+ */
+class MpscRingBuffer<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private static final long PARK_UNTIL_OFFERED = -1L;
+
+    private final int capacity;
+
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong producerIndex = new AtomicLong();
+
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    private volatile Thread waitingConsumer;
+
+    MpscRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.sequences.set(i, i);
+        }
+    }
+
+    @Override
+    public boolean offer(E element) {
+        Objects.requireNonNull(element, "element must not be null");
+        long position = this.producerIndex.get();
+        while (true) {
+            int slot = (int) (position % this.capacity);
+            long difference = this.sequences.get(slot) - position;
+            if (difference == 0) {
+                if (this.producerIndex.compareAndSet(position, position + 1)) {
+                    this.elements.lazySet(slot, element);
+                    this.sequences.set(slot, position + 1);
+                    Thread consumer = this.waitingConsumer;
+                    if (consumer != null) {
+                        LockSupport.unpark(consumer);
+                    }
+                    return true;
+                }
+                position = this.producerIndex.get();
+            }
+            else if (difference < 0) {
+                // the slot still holds the element written a lap ago
+                return false;
+            }
+            else {
+                position = this.producerIndex.get();
+            }
+        }
+    }
+
+    @Override
+    public E poll() {
+        long position = this.consumerIndex.get();
+        while (true) {
+            int slot = (int) (position % this.capacity);
+            long difference = this.sequences.get(slot) - (position + 1);
+            if (difference == 0) {
+                if (this.consumerIndex.compareAndSet(position, position + 1)) {
+                    E element = this.elements.get(slot);
+                    this.elements.lazySet(slot, null);
+                    this.sequences.set(slot, position + this.capacity);
+                    return element;
+                }
+                position = this.consumerIndex.get();
+            }
+            else if (difference < 0) {
+                return null;
+            }
+            else {
+                position = this.consumerIndex.get();
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        long position = this.consumerIndex.get();
+        int slot = (int) (position % this.capacity);
+        if (this.sequences.get(slot) == position + 1) {
+            return this.elements.get(slot);
+        }
+        return null;
+    }
+
+    @Override
+    public void put(E element) throws InterruptedException {
+        while (!offer(element)) {
+            backOff();
+        }
+    }
+
+    @Override
+    public boolean offer(E element, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!offer(element)) {
+            if (deadline - System.nanoTime() <= 0) {
+                return false;
+            }
+            backOff();
+        }
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E element;
+        while ((element = pollOrPark(PARK_UNTIL_OFFERED)) == null) {
+            // woken up spuriously or another thread polled the offered element
+        }
+        return element;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        E element;
+        while ((element = pollOrPark(Math.max(0L, deadline - System.nanoTime()))) == null) {
+            if (deadline - System.nanoTime() <= 0) {
+                return null;
+            }
+        }
+        return element;
+    }
+
+    /**
+     * Polls an element, parking the calling thread until an element is offered when
+     * there's none.
+     * @param parkNanos maximum time to park, {@link #PARK_UNTIL_OFFERED} to park without
+     * a timeout
+     * @return element or {@code null} when woken up without any element available
+     * @throws InterruptedException when interrupted while parked
+     */
+    private E pollOrPark(long parkNanos) throws InterruptedException {
+        E element = poll();
+        if (element != null) {
+            return element;
+        }
+        this.waitingConsumer = Thread.currentThread();
+        try {
+            // re-check after publishing the waiter so that a concurrent offer either
+            // sees us or we see its element
+            element = poll();
+            if (element == null && parkNanos != 0) {
+                if (parkNanos == PARK_UNTIL_OFFERED) {
+                    LockSupport.park(this);
+                }
+                else {
+                    LockSupport.parkNanos(this, parkNanos);
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+            return element;
+        }
+        finally {
+            this.waitingConsumer = null;
+        }
+    }
+
+    private static void backOff() throws InterruptedException {
+        LockSupport.parkNanos(1_000L);
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return this.capacity - size();
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> collection, int maxElements) {
+        Objects.requireNonNull(collection, "collection must not be null");
+        if (collection == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself");
+        }
+        int drained = 0;
+        E element;
+        while (drained < maxElements && (element = poll()) != null) {
+            collection.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    @Override
+    public int size() {
+        // read the consumer first so that a concurrent poll can't make the size negative
+        long consumer = this.consumerIndex.get();
+        long producer = this.producerIndex.get();
+        return (int) Math.max(0, Math.min(this.capacity, producer - consumer));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    /**
+     * Returns a weakly consistent snapshot of the queued elements. Removal is not
+     * supported.
+     * @return iterator over the elements queued at the time of the call
+     */
+    @Override
+    public Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<>(size());
+        long producer = this.producerIndex.get();
+        for (long position = this.consumerIndex.get(); position < producer; position++) {
+            int slot = (int) (position % this.capacity);
+            E element = this.elements.get(slot);
+            if (element != null && this.sequences.get(slot) == position + 1) {
+                snapshot.add(element);
+            }
+        }
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+}
@@ -52,6 +52,22 @@ public interface SpanMetrics {
      */
     void registerQueueRemainingCapacity(BlockingQueue<?> queue);
 
+    /**
+     * Is called after a batch of spans has been drained from the queue and sent.
+     * @param batchSize number of spans in the batch
+     * @since 1.2.0
+     */
+    default void reportBatchSize(int batchSize) {
+    }
+
+    /**
+     * Is called after a batch of spans has been drained from the queue and sent.
+     * @param latencyNanos time in nanoseconds it took to convert and send the batch
+     * @since 1.2.0
+     */
+    default void reportDrainLatency(long latencyNanos) {
+    }
+
     /**
      * No-op implementation.
      */
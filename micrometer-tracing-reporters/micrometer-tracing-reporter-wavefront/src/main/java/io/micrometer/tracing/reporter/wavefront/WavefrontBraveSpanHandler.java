@@ -21,7 +21,6 @@ import brave.handler.MutableSpan;
 import brave.handler.SpanHandler;
 import brave.propagation.TraceContext;
 import io.micrometer.tracing.brave.bridge.BraveFinishedSpan;
-import io.micrometer.tracing.brave.bridge.BraveTraceContext;
 
 /**
  * A {@link SpanHandler} that sends spans to Wavefront.
@@ -43,7 +42,7 @@ public class WavefrontBraveSpanHandler extends SpanHandler implements Runnable,
 
     @Override
     public boolean end(TraceContext context, MutableSpan span, Cause cause) {
-        return spanHandler.end(BraveTraceContext.fromBrave(context), BraveFinishedSpan.fromBrave(span));
+        return spanHandler.end(new BraveLongIdsTraceContext(context), BraveFinishedSpan.fromBrave(span));
     }
 
     @Override
@@ -56,4 +55,63 @@ public class WavefrontBraveSpanHandler extends SpanHandler implements Runnable,
         this.spanHandler.run();
     }
 
+    /**
+     * Exposes the ids Brave already keeps as {@code long} values, so that they don't
+     * have to be printed to hex and parsed back.
+     */
+    private static final class BraveLongIdsTraceContext implements LongIdsTraceContext {
+
+        private final TraceContext delegate;
+
+        BraveLongIdsTraceContext(TraceContext delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String traceId() {
+            return this.delegate.traceIdString();
+        }
+
+        @Override
+        public String parentId() {
+            return this.delegate.parentIdString();
+        }
+
+        @Override
+        public String spanId() {
+            return this.delegate.spanIdString();
+        }
+
+        @Override
+        public Boolean sampled() {
+            return this.delegate.sampled();
+        }
+
+        @Override
+        public long traceIdHigh() {
+            return this.delegate.traceIdHigh();
+        }
+
+        @Override
+        public long traceIdLow() {
+            return this.delegate.traceId();
+        }
+
+        @Override
+        public long spanIdAsLong() {
+            return this.delegate.spanId();
+        }
+
+        @Override
+        public long parentIdAsLong() {
+            return this.delegate.parentIdAsLong();
+        }
+
+        @Override
+        public String toString() {
+            return this.delegate.toString();
+        }
+
+    }
+
 }
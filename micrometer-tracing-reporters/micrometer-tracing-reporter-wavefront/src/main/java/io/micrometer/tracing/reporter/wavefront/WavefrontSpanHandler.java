@@ -24,11 +24,14 @@ import com.wavefront.sdk.entities.tracing.SpanLog;
 import io.micrometer.common.util.StringUtils;
 import io.micrometer.common.util.internal.logging.InternalLogger;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
+import io.micrometer.tracing.Span;
 import io.micrometer.tracing.TraceContext;
 import io.micrometer.tracing.exporter.FinishedSpan;
+import io.micrometer.tracing.internal.EncodingUtils;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.*;
@@ -86,13 +89,21 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
 
     private static final int TRACE_ID_HEX_SIZE = 2 * LONG_BASE16;
 
-    private static final String ALPHABET = "0123456789abcdef";
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
 
-    private static final int ASCII_CHARACTERS = 128;
+    private static final Map<Span.Kind, String> LOWER_CASE_KINDS = lowerCaseKinds();
 
-    private static final byte[] DECODING = buildDecodingArray();
+    private final BlockingQueue<SpanToSend> spanBuffer;
 
-    private final LinkedBlockingQueue<SpanToSend> spanBuffer;
+    private final int maxBatchSize;
+
+    private final int workerThreads;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final long blockTimeoutNanos;
+
+    private final ExecutorService conversionExecutorService;
 
     private final WavefrontSender wavefrontSender;
 
@@ -114,6 +125,10 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
 
     private final ApplicationTags applicationTags;
 
+    private final String cluster;
+
+    private final String shard;
+
     private final SpanMetrics spanMetrics;
 
     private final AtomicBoolean stop = new AtomicBoolean();
@@ -131,8 +146,48 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
      */
     public WavefrontSpanHandler(int maxQueueSize, WavefrontSender wavefrontSender, SpanMetrics spanMetrics,
             String source, ApplicationTags applicationTags, Set<String> redMetricsCustomTagKeys) {
+        this(maxQueueSize, QueueType.LINKED, DEFAULT_MAX_BATCH_SIZE, 1, OverflowPolicy.DROP_NEWEST, Duration.ZERO,
+                wavefrontSender, spanMetrics, source, applicationTags, redMetricsCustomTagKeys);
+    }
+
+    /**
+     * Creates a new instance of {@link WavefrontSpanHandler} with a configurable sending
+     * pipeline. The reporting thread drains up to {@code maxBatchSize} spans at a time
+     * and, when {@code workerThreads} is greater than one, splits the batch across that
+     * many worker threads that convert the spans and pass them to the
+     * {@link WavefrontSender}.
+     * @param maxQueueSize maximal span queue size
+     * @param queueType implementation of the span queue
+     * @param maxBatchSize maximal number of spans drained from the queue at once
+     * @param workerThreads number of threads converting and sending a drained batch
+     * @param overflowPolicy what to do when the span queue is full
+     * @param blockTimeout how long the application thread finishing a span waits for
+     * free space in the queue when {@link OverflowPolicy#BLOCK} is used
+     * @param wavefrontSender wavefront server
+     * @param spanMetrics span metrics
+     * @param source source of metrics and spans
+     * @param applicationTags additional application tags
+     * @param redMetricsCustomTagKeys RED metrics custom tag keys
+     * @since 1.2.0
+     */
+    public WavefrontSpanHandler(int maxQueueSize, QueueType queueType, int maxBatchSize, int workerThreads,
+            OverflowPolicy overflowPolicy, Duration blockTimeout, WavefrontSender wavefrontSender,
+            SpanMetrics spanMetrics, String source, ApplicationTags applicationTags,
+            Set<String> redMetricsCustomTagKeys) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be greater than 0");
+        }
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("workerThreads must be greater than 0");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.workerThreads = workerThreads;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy must not be null");
+        this.blockTimeoutNanos = Objects.requireNonNull(blockTimeout, "blockTimeout must not be null").toNanos();
         this.wavefrontSender = wavefrontSender;
         this.applicationTags = applicationTags;
+        this.cluster = applicationTags.getCluster() == null ? NULL_TAG_VAL : applicationTags.getCluster();
+        this.shard = applicationTags.getShard() == null ? NULL_TAG_VAL : applicationTags.getShard();
         this.discoveredHeartbeatMetrics = ConcurrentHashMap.newKeySet();
         this.spanMetrics = spanMetrics;
 
@@ -163,54 +218,34 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
         this.defaultTagKeys = defaultTags.stream().map(p -> p._1).collect(Collectors.toSet());
         this.defaultTagKeys.add(SOURCE_KEY);
 
-        this.spanBuffer = new LinkedBlockingQueue<>(maxQueueSize);
+        this.spanBuffer = Objects.requireNonNull(queueType, "queueType must not be null") == QueueType.RING_BUFFER
+                ? new MpscRingBuffer<>(maxQueueSize) : new LinkedBlockingQueue<>(maxQueueSize);
 
         spanMetrics.registerQueueSize(spanBuffer);
         spanMetrics.registerQueueRemainingCapacity(spanBuffer);
 
+        this.conversionExecutorService = workerThreads > 1 ? Executors.newFixedThreadPool(workerThreads,
+                new NamedThreadFactory("wavefrontSpanConverter").setDaemon(true)) : null;
+
         this.sendingThread = new Thread(this, "wavefrontSpanReporter");
         this.sendingThread.setDaemon(true);
         this.sendingThread.start();
     }
 
-    private static byte[] buildDecodingArray() {
-        byte[] decoding = new byte[ASCII_CHARACTERS];
-        Arrays.fill(decoding, (byte) -1);
-        for (int i = 0; i < ALPHABET.length(); i++) {
-            char c = ALPHABET.charAt(i);
-            decoding[c] = (byte) i;
+    private static Map<Span.Kind, String> lowerCaseKinds() {
+        Map<Span.Kind, String> kinds = new EnumMap<>(Span.Kind.class);
+        for (Span.Kind kind : Span.Kind.values()) {
+            kinds.put(kind, kind.toString().toLowerCase());
         }
-        return decoding;
-    }
-
-    /**
-     * Returns the {@code long} value whose base16 representation is stored in the first
-     * 16 chars of {@code chars} starting from the {@code offset}.
-     * @param chars the base16 representation of the {@code long}.
-     */
-    private static long longFromBase16String(CharSequence chars) {
-        int offset = 0;
-        return (decodeByte(chars.charAt(offset), chars.charAt(offset + 1)) & 0xFFL) << 56
-                | (decodeByte(chars.charAt(offset + 2), chars.charAt(offset + 3)) & 0xFFL) << 48
-                | (decodeByte(chars.charAt(offset + 4), chars.charAt(offset + 5)) & 0xFFL) << 40
-                | (decodeByte(chars.charAt(offset + 6), chars.charAt(offset + 7)) & 0xFFL) << 32
-                | (decodeByte(chars.charAt(offset + 8), chars.charAt(offset + 9)) & 0xFFL) << 24
-                | (decodeByte(chars.charAt(offset + 10), chars.charAt(offset + 11)) & 0xFFL) << 16
-                | (decodeByte(chars.charAt(offset + 12), chars.charAt(offset + 13)) & 0xFFL) << 8
-                | (decodeByte(chars.charAt(offset + 14), chars.charAt(offset + 15)) & 0xFFL);
-    }
-
-    private static byte decodeByte(char hi, char lo) {
-        int decoded = DECODING[hi] << 4 | DECODING[lo];
-        return (byte) decoded;
+        return kinds;
     }
 
     // https://github.com/wavefrontHQ/wavefront-proxy/blob/3dd1fa11711a04de2d9d418e2269f0f9fb464f36/proxy/src/main/java/com/wavefront/agent/listeners/tracing/ZipkinPortUnificationHandler.java#L397-L402
     static List<SpanLog> convertAnnotationsToSpanLogs(FinishedSpan span) {
-        return span.getEvents()
-            .stream()
-            .map(entry -> new SpanLog(entry.getKey(), Collections.singletonMap("annotation", entry.getValue())))
-            .collect(Collectors.toList());
+        List<SpanLog> spanLogs = new ArrayList<>();
+        span.forEachEvent((timestamp, value) -> spanLogs
+            .add(new SpanLog(timestamp, Collections.singletonMap("annotation", value))));
+        return spanLogs;
     }
 
     // https://github.com/wavefrontHQ/wavefront-opentracing-sdk-java/blob/f1f08d8daf7b692b9b61dcd5bc24ca6befa8e710/src/main/java/com/wavefront/opentracing/WavefrontTracer.java#L275-L280
@@ -247,23 +282,64 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
             }
         }
         else {
-            if (!spanBuffer.offer(new SpanToSend(context, span))) {
+            SpanToSend dropped = enqueue(new SpanToSend(context, span));
+            if (dropped != null) {
                 this.spanMetrics.reportDropped();
-                long dropped = this.spansDropped.incrementAndGet();
+                long totalDropped = this.spansDropped.incrementAndGet();
                 if (LOG.isWarnEnabled()) {
-                    LOG.warn("Buffer full, dropping span: " + span);
-                    LOG.warn("Total spans dropped: " + dropped);
+                    LOG.warn("Buffer full, dropping span: " + dropped.getFinishedSpan());
+                    LOG.warn("Total spans dropped: " + totalDropped);
                 }
             }
         }
         return true; // regardless of error, other handlers should run
     }
 
+    /**
+     * Puts the span into the buffer according to the {@link OverflowPolicy}.
+     * @param spanToSend span to enqueue
+     * @return the span that got dropped or {@code null} if none was
+     */
+    private SpanToSend enqueue(SpanToSend spanToSend) {
+        if (spanBuffer.offer(spanToSend)) {
+            return null;
+        }
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                SpanToSend oldest = spanBuffer.poll();
+                if (oldest == DeathPill.INSTANCE) {
+                    // close() was called in the meantime, keep the pill and drop the new
+                    // span
+                    spanBuffer.offer(oldest);
+                    return spanToSend;
+                }
+                if (spanBuffer.offer(spanToSend)) {
+                    return oldest;
+                }
+                if (oldest != null) {
+                    // another producer took the freed slot, we've lost both spans
+                    this.spanMetrics.reportDropped();
+                    this.spansDropped.incrementAndGet();
+                }
+                return spanToSend;
+            case BLOCK:
+                try {
+                    return spanBuffer.offer(spanToSend, blockTimeoutNanos, TimeUnit.NANOSECONDS) ? null : spanToSend;
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return spanToSend;
+                }
+            default:
+                return spanToSend;
+        }
+    }
+
     List<Pair<String, String>> getDefaultTags() {
         return Collections.unmodifiableList(this.defaultTags);
     }
 
-    private String padLeftWithZeros(String string, int length) {
+    private static String padLeftWithZeros(String string, int length) {
         if (string.length() >= length) {
             return string;
         }
@@ -277,21 +353,67 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
         }
     }
 
+    /**
+     * Parses the upper 64 bits of a hex trace id. Ids of the usual 16 or 32 characters
+     * are read in place, only other lengths get padded first.
+     * @param traceId hex trace id
+     * @return upper 64 bits of the trace id
+     */
+    static long traceIdHigh(String traceId) {
+        int length = traceId.length();
+        if (length >= TRACE_ID_HEX_SIZE) {
+            return EncodingUtils.longFromBase16String(traceId, length - TRACE_ID_HEX_SIZE);
+        }
+        if (length <= LONG_BASE16) {
+            return 0L;
+        }
+        return EncodingUtils.longFromBase16String(padLeftWithZeros(traceId, TRACE_ID_HEX_SIZE));
+    }
+
+    /**
+     * Parses the lower 64 bits of a hex id. Ids of at least 16 characters are read in
+     * place, shorter ones get padded first.
+     * @param id hex trace or span id
+     * @return lower 64 bits of the id
+     */
+    static long idLow(String id) {
+        int length = id.length();
+        if (length >= LONG_BASE16) {
+            return EncodingUtils.longFromBase16String(id, length - LONG_BASE16);
+        }
+        return EncodingUtils.longFromBase16String(padLeftWithZeros(id, LONG_BASE16));
+    }
+
     private void send(TraceContext context, FinishedSpan span) {
-        String traceIdString = padLeftWithZeros(context.traceId(), TRACE_ID_HEX_SIZE);
-        String traceIdHigh = traceIdString.substring(0, traceIdString.length() / 2);
-        String traceIdLow = traceIdString.substring(traceIdString.length() / 2);
-        UUID traceId = new UUID(longFromBase16String(traceIdHigh), longFromBase16String(traceIdLow));
-        UUID spanId = new UUID(0L, longFromBase16String(context.spanId()));
+        long traceIdHigh;
+        long traceIdLow;
+        long spanIdLong;
+        long parentIdLong;
+        if (context instanceof LongIdsTraceContext) {
+            LongIdsTraceContext longIds = (LongIdsTraceContext) context;
+            traceIdHigh = longIds.traceIdHigh();
+            traceIdLow = longIds.traceIdLow();
+            spanIdLong = longIds.spanIdAsLong();
+            parentIdLong = longIds.parentIdAsLong();
+        }
+        else {
+            String traceIdString = context.traceId();
+            traceIdHigh = traceIdHigh(traceIdString);
+            traceIdLow = idLow(traceIdString);
+            spanIdLong = idLow(context.spanId());
+            String parentId = context.parentId();
+            parentIdLong = StringUtils.isEmpty(parentId) ? 0L : idLow(parentId);
+        }
+        UUID traceId = new UUID(traceIdHigh, traceIdLow);
+        UUID spanId = new UUID(0L, spanIdLong);
 
         // NOTE: wavefront-opentracing-sdk-java and wavefront-proxy differ, but we prefer
         // the former.
         // https://github.com/wavefrontHQ/wavefront-opentracing-sdk-java/blob/f1f08d8daf7b692b9b61dcd5bc24ca6befa8e710/src/main/java/com/wavefront/opentracing/reporting/WavefrontSpanReporter.java#L187-L190
         // https://github.com/wavefrontHQ/wavefront-proxy/blob/3dd1fa11711a04de2d9d418e2269f0f9fb464f36/proxy/src/main/java/com/wavefront/agent/listeners/tracing/ZipkinPortUnificationHandler.java#L248-L252
         List<UUID> parents = null;
-        String parentId = context.parentId();
-        if (!StringUtils.isEmpty(parentId) && longFromBase16String(parentId) != 0L) {
-            parents = Collections.singletonList(new UUID(0L, longFromBase16String(parentId)));
+        if (parentIdLong != 0L) {
+            parents = Collections.singletonList(new UUID(0L, parentIdLong));
         }
         List<UUID> followsFrom = null;
 
@@ -309,7 +431,7 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
         long durationMillis = startMillis != 0 && finishMillis != 0L ? Math.max(finishMillis - startMillis, 1L) : 0L;
 
         List<SpanLog> spanLogs = convertAnnotationsToSpanLogs(span);
-        TagList tags = new TagList(defaultTagKeys, defaultTags, span);
+        TagList tags = new TagList(defaultTagKeys, defaultTags, span, !spanLogs.isEmpty());
 
         try {
             wavefrontSender.sendSpan(name, startMillis, durationMillis, source, traceId, spanId, parents, followsFrom,
@@ -327,9 +449,7 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
             // report converted metrics/histograms from the span
             try {
                 discoveredHeartbeatMetrics.add(reportWavefrontGeneratedData(wfInternalReporter, name,
-                        applicationTags.getApplication(), applicationTags.getService(),
-                        applicationTags.getCluster() == null ? NULL_TAG_VAL : applicationTags.getCluster(),
-                        applicationTags.getShard() == null ? NULL_TAG_VAL : applicationTags.getShard(), source,
+                        applicationTags.getApplication(), applicationTags.getService(), cluster, shard, source,
                         tags.componentTagValue, tags.isError, durationMicros, traceDerivedCustomTagKeys, tags));
             }
             catch (RuntimeException t) {
@@ -343,14 +463,18 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
 
     @Override
     public void run() {
+        List<SpanToSend> batch = new ArrayList<>(maxBatchSize);
         while (!stop.get()) {
             try {
-                SpanToSend spanToSend = spanBuffer.take();
-                if (spanToSend == DeathPill.INSTANCE) {
+                batch.add(spanBuffer.take());
+                spanBuffer.drainTo(batch, maxBatchSize - 1);
+                int pill = batch.indexOf(DeathPill.INSTANCE);
+                if (pill >= 0) {
+                    sendBatch(batch.subList(0, pill));
                     LOG.info("reporting thread stopping");
                     return;
                 }
-                send(spanToSend.getTraceContext(), spanToSend.getFinishedSpan());
+                sendBatch(batch);
             }
             catch (InterruptedException ex) {
                 if (LOG.isInfoEnabled()) {
@@ -360,6 +484,50 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
             catch (Throwable ex) {
                 LOG.warn("Error processing buffer", ex);
             }
+            finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<SpanToSend> batch) throws InterruptedException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int chunks = Math.min(workerThreads, batch.size());
+        if (chunks == 1) {
+            sendAll(batch);
+        }
+        else {
+            int chunkSize = (batch.size() + chunks - 1) / chunks;
+            List<Callable<Void>> tasks = new ArrayList<>(chunks);
+            for (int from = 0; from < batch.size(); from += chunkSize) {
+                List<SpanToSend> chunk = batch.subList(from, Math.min(from + chunkSize, batch.size()));
+                tasks.add(() -> {
+                    sendAll(chunk);
+                    return null;
+                });
+            }
+            // send() handles its own errors, so there's nothing to collect here
+            conversionExecutorService.invokeAll(tasks);
+        }
+        this.spanMetrics.reportBatchSize(batch.size());
+        this.spanMetrics.reportDrainLatency(System.nanoTime() - start);
+    }
+
+    private void sendAll(List<SpanToSend> spans) {
+        for (SpanToSend spanToSend : spans) {
+            try {
+                send(spanToSend.getTraceContext(), spanToSend.getFinishedSpan());
+            }
+            catch (RuntimeException ex) {
+                // e.g. a malformed id, don't lose the rest of the batch
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("error converting span " + spanToSend.getTraceContext(), ex);
+                }
+                this.spanMetrics.reportErrors();
+            }
         }
     }
 
@@ -376,6 +544,9 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
             // wait for 5 secs max to send remaining spans
             sendingThread.join(5000);
             sendingThread.interrupt();
+            if (conversionExecutorService != null) {
+                conversionExecutorService.shutdownNow();
+            }
             heartbeatMetricsScheduledExecutorService.shutdownNow();
         }
         catch (InterruptedException ex) {
@@ -394,6 +565,59 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
         }
     }
 
+    /**
+     * Decides what happens to a span reported while the span queue is full.
+     *
+     * @since 1.2.0
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Drops the span that is being reported.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Drops the oldest queued span to make room for the one being reported.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Blocks the application thread that finishes the span until there is room in the
+         * queue or the configured timeout elapses, in which case the span is dropped. The
+         * sending threads never block on a full queue.
+         * <p>
+         * <b>Warning</b>: when Wavefront is slow or unreachable, the queue stays full and
+         * every thread finishing a span, e.g. request handling threads, is stalled for up
+         * to the timeout. Keep the timeout short or prefer one of the dropping policies
+         * where latency matters.
+         */
+        BLOCK
+
+    }
+
+    /**
+     * Implementation of the queue between the threads reporting spans and the thread
+     * sending them.
+     *
+     * @since 1.2.0
+     */
+    public enum QueueType {
+
+        /**
+         * A {@link LinkedBlockingQueue}.
+         */
+        LINKED,
+
+        /**
+         * A lock-free ring buffer with pre-allocated slots. Avoids lock contention and
+         * the per span node allocation of {@link #LINKED} when many threads finish spans
+         * concurrently.
+         */
+        RING_BUFFER
+
+    }
+
     private static class SpanToSend {
 
         private final TraceContext traceContext;
@@ -444,35 +668,19 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
         boolean isError; // See explanation here:
                          // https://github.com/openzipkin/brave/pull/1221
 
-        TagList(Set<String> defaultTagKeys, List<Pair<String, String>> defaultTags, FinishedSpan span) {
-            super(defaultTags.size() + span.getTags().size());
-            boolean debug = false; // OTel doesn't have a notion of debug
-            boolean hasAnnotations = span.getEvents().size() > 0;
+        private final transient Set<String> defaultTagKeys;
+
+        private boolean debug; // OTel doesn't have a notion of debug
+
+        TagList(Set<String> defaultTagKeys, List<Pair<String, String>> defaultTags, FinishedSpan span,
+                boolean hasAnnotations) {
+            super(defaultTags.size() + 8);
+            this.defaultTagKeys = defaultTagKeys;
             isError = span.getError() != null;
 
             addAll(defaultTags);
-            for (Map.Entry<String, String> tag : span.getTags().entrySet()) {
-                String lowerCaseKey = tag.getKey().toLowerCase(Locale.ROOT);
-                if (lowerCaseKey.equals(ERROR_TAG_KEY)) {
-                    isError = true;
-                    continue; // We later replace whatever the potentially empty value was
-                              // with "true"
-                }
-                if (tag.getValue().isEmpty()) {
-                    continue;
-                }
-                if (defaultTagKeys.contains(lowerCaseKey)) {
-                    continue;
-                }
-                if (lowerCaseKey.equals(DEBUG_TAG_KEY)) {
-                    debug = true; // This tag is set out-of-band
-                    continue;
-                }
-                if (lowerCaseKey.equals(COMPONENT_TAG_KEY)) {
-                    componentTagValue = tag.getValue();
-                }
-                add(Pair.of(tag.getKey(), tag.getValue()));
-            }
+            // visits the tags in place instead of copying them into a map first
+            span.forEachTag(this::addSpanTag);
 
             // Check for span.error() for uncaught exception in request mapping and add it
             // to Wavefront span tag
@@ -487,7 +695,7 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
 
             // https://github.com/wavefrontHQ/wavefront-proxy/blob/3dd1fa11711a04de2d9d418e2269f0f9fb464f36/proxy/src/main/java/com/wavefront/agent/listeners/tracing/ZipkinPortUnificationHandler.java#L254-L266
             if (span.getKind() != null) {
-                String kind = span.getKind().toString().toLowerCase();
+                String kind = LOWER_CASE_KINDS.get(span.getKind());
                 add(Pair.of("span.kind", kind));
                 if (hasAnnotations) {
                     add(Pair.of("_spanSecondaryId", kind));
@@ -507,6 +715,30 @@ public class WavefrontSpanHandler implements Runnable, Closeable {
             }
         }
 
+        private void addSpanTag(String key, String value) {
+            // returns the key itself when it's already lower case
+            String lowerCaseKey = key.toLowerCase(Locale.ROOT);
+            if (lowerCaseKey.equals(ERROR_TAG_KEY)) {
+                isError = true;
+                return; // We later replace whatever the potentially empty value was
+                        // with "true"
+            }
+            if (value.isEmpty()) {
+                return;
+            }
+            if (defaultTagKeys.contains(lowerCaseKey)) {
+                return;
+            }
+            if (lowerCaseKey.equals(DEBUG_TAG_KEY)) {
+                debug = true; // This tag is set out-of-band
+                return;
+            }
+            if (lowerCaseKey.equals(COMPONENT_TAG_KEY)) {
+                componentTagValue = value;
+            }
+            add(Pair.of(key, value));
+        }
+
     }
 
 }
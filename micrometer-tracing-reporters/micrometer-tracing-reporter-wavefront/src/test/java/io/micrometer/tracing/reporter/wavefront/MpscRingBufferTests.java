@@ -0,0 +1,135 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.reporter.wavefront;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * Tests for {@link MpscRingBuffer}.
+ */
+class MpscRingBufferTests {
+
+    @Test
+    void shouldKeepFifoOrderAndRespectCapacity() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+
+        then(buffer.offer(1)).isTrue();
+        then(buffer.offer(2)).isTrue();
+        then(buffer.offer(3)).isTrue();
+        then(buffer.offer(4)).isFalse();
+        then(buffer.size()).isEqualTo(3);
+        then(buffer.remainingCapacity()).isZero();
+
+        then(buffer.poll()).isEqualTo(1);
+        then(buffer.offer(4)).isTrue();
+
+        List<Integer> drained = new ArrayList<>();
+        then(buffer.drainTo(drained, 2)).isEqualTo(2);
+        then(drained).containsExactly(2, 3);
+        then(buffer).containsExactly(4);
+        then(buffer.poll()).isEqualTo(4);
+        then(buffer.poll()).isNull();
+        then(buffer.isEmpty()).isTrue();
+        then(buffer.remainingCapacity()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldTimeOutWhenFull() throws InterruptedException {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1);
+        buffer.offer(1);
+
+        then(buffer.offer(2, 10, TimeUnit.MILLISECONDS)).isFalse();
+        then(buffer.poll(10, TimeUnit.MILLISECONDS)).isEqualTo(1);
+        then(buffer.poll(10, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void shouldWakeUpIdleConsumerOnOffer() throws Exception {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        AtomicReference<Thread> consumer = new AtomicReference<>();
+        try {
+            Future<Integer> taken = executorService.submit(() -> {
+                consumer.set(Thread.currentThread());
+                return buffer.take();
+            });
+            // an idle consumer is parked without a timeout instead of polling
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (consumer.get() == null || consumer.get().getState() != Thread.State.WAITING) {
+                then(System.nanoTime() - deadline).as("Consumer should park until an element is offered").isNegative();
+                Thread.sleep(1);
+            }
+
+            then(buffer.offer(1)).isTrue();
+
+            then(taken.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldDeliverEveryElementFromConcurrentProducersToSingleConsumer() throws Exception {
+        int producers = 4;
+        int perProducer = 10_000;
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(64);
+        ExecutorService executorService = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                executorService.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        buffer.put(producer * perProducer + i);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+
+            boolean[] seen = new boolean[producers * perProducer];
+            int[] lastPerProducer = new int[producers];
+            Arrays.fill(lastPerProducer, -1);
+            for (int i = 0; i < seen.length; i++) {
+                Integer element = buffer.take();
+                then(seen[element]).isFalse();
+                seen[element] = true;
+                int producer = element / perProducer;
+                then(element).isGreaterThan(lastPerProducer[producer]);
+                lastPerProducer[producer] = element;
+            }
+            then(buffer.isEmpty()).isTrue();
+        }
+        finally {
+            executorService.shutdownNow();
+        }
+    }
+
+}
@@ -19,6 +19,10 @@ import java.io.IOException;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.wavefront.sdk.common.WavefrontSender;
 import com.wavefront.sdk.common.application.ApplicationTags;
@@ -27,13 +31,21 @@ import io.micrometer.tracing.test.simple.SimpleSpan;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
+import static org.assertj.core.api.BDDAssertions.then;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests for {@link WavefrontSpanHandler}.
@@ -70,6 +82,32 @@ class WavefrontSpanHandlerTests {
                 eq(UUID.fromString("00000000-0000-0000-7fff-ffffffffffff")), any(), any(), any(), any());
     }
 
+    @Test
+    void readsLongIdsWithoutParsingWhenAvailable() throws Exception {
+        LongIdsTraceContext traceContext = mock(LongIdsTraceContext.class);
+        when(traceContext.traceIdHigh()).thenReturn(1L);
+        when(traceContext.traceIdLow()).thenReturn(2L);
+        when(traceContext.spanIdAsLong()).thenReturn(3L);
+        when(traceContext.parentIdAsLong()).thenReturn(4L);
+        sut.end(traceContext, new SimpleSpan());
+        sut.close();
+
+        verify(sender).sendSpan(eq("defaultOperation"), anyLong(), anyLong(), eq("source"), eq(new UUID(1L, 2L)),
+                eq(new UUID(0L, 3L)), eq(Collections.singletonList(new UUID(0L, 4L))), any(), any(), any());
+        verify(traceContext, never()).traceId();
+    }
+
+    @Test
+    void parsesHexIdsOfAnyLength() {
+        then(WavefrontSpanHandler.traceIdHigh("0000000000000001000000000000000a")).isEqualTo(1L);
+        then(WavefrontSpanHandler.idLow("0000000000000001000000000000000a")).isEqualTo(10L);
+        then(WavefrontSpanHandler.traceIdHigh("000000000000000a")).isZero();
+        then(WavefrontSpanHandler.idLow("000000000000000a")).isEqualTo(10L);
+        then(WavefrontSpanHandler.traceIdHigh("1000000000000000a")).isEqualTo(1L);
+        then(WavefrontSpanHandler.idLow("1000000000000000a")).isEqualTo(10L);
+        then(WavefrontSpanHandler.idLow("a")).isEqualTo(10L);
+    }
+
     @Test
     void stopsInTime() throws IOException {
         await().pollDelay(Duration.ofMillis(10)).atMost(Duration.ofMillis(100)).until(() -> {
@@ -81,6 +119,104 @@ class WavefrontSpanHandlerTests {
         verify(sender).close();
     }
 
+    @ParameterizedTest
+    @EnumSource(WavefrontSpanHandler.QueueType.class)
+    void sendsBatchesOnMultipleWorkers(WavefrontSpanHandler.QueueType queueType) throws Exception {
+        RecordingSpanMetrics spanMetrics = new RecordingSpanMetrics();
+        WavefrontSpanHandler handler = new WavefrontSpanHandler(10000, queueType, 10, 4,
+                WavefrontSpanHandler.OverflowPolicy.DROP_NEWEST, Duration.ZERO, sender, spanMetrics, "source",
+                new ApplicationTags.Builder("application", "service").build(), Collections.emptySet());
+        try {
+            for (int i = 0; i < 100; i++) {
+                handler.end(new DummyTraceContext(), new SimpleSpan());
+            }
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> spanMetrics.batchedSpans.get() == 100);
+            verify(sender, times(100)).sendSpan(eq("defaultOperation"), anyLong(), anyLong(), eq("source"), any(),
+                    any(), any(), any(), any(), any());
+            then(spanMetrics.dropped.get()).isZero();
+        }
+        finally {
+            handler.close();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(WavefrontSpanHandler.QueueType.class)
+    void dropsOldestSpanWhenQueueIsFull(WavefrontSpanHandler.QueueType queueType) throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(sender)
+            .sendSpan(eq("first"), anyLong(), anyLong(), anyString(), any(), any(), any(), any(), any(), any());
+        RecordingSpanMetrics spanMetrics = new RecordingSpanMetrics();
+        WavefrontSpanHandler handler = new WavefrontSpanHandler(1, queueType, 10, 1,
+                WavefrontSpanHandler.OverflowPolicy.DROP_OLDEST, Duration.ZERO, sender, spanMetrics, "source",
+                new ApplicationTags.Builder("application", "service").build(), Collections.emptySet());
+        try {
+            handler.end(new DummyTraceContext(), namedSpan("first"));
+            then(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+            handler.end(new DummyTraceContext(), namedSpan("second"));
+            handler.end(new DummyTraceContext(), namedSpan("third"));
+            release.countDown();
+
+            await().atMost(Duration.ofSeconds(5)).until(() -> spanMetrics.batchedSpans.get() == 2);
+            verify(sender).sendSpan(eq("third"), anyLong(), anyLong(), anyString(), any(), any(), any(), any(), any(),
+                    any());
+            verify(sender, never()).sendSpan(eq("second"), anyLong(), anyLong(), anyString(), any(), any(), any(),
+                    any(), any(), any());
+            then(spanMetrics.dropped.get()).isEqualTo(1);
+        }
+        finally {
+            release.countDown();
+            handler.close();
+        }
+    }
+
+    private static SimpleSpan namedSpan(String name) {
+        SimpleSpan span = new SimpleSpan();
+        span.name(name);
+        return span;
+    }
+
+    static class RecordingSpanMetrics implements SpanMetrics {
+
+        final AtomicInteger dropped = new AtomicInteger();
+
+        final AtomicInteger batchedSpans = new AtomicInteger();
+
+        @Override
+        public void reportDropped() {
+            dropped.incrementAndGet();
+        }
+
+        @Override
+        public void reportReceived() {
+        }
+
+        @Override
+        public void reportErrors() {
+        }
+
+        @Override
+        public void registerQueueSize(BlockingQueue<?> queue) {
+        }
+
+        @Override
+        public void registerQueueRemainingCapacity(BlockingQueue<?> queue) {
+        }
+
+        @Override
+        public void reportBatchSize(int batchSize) {
+            batchedSpans.addAndGet(batchSize);
+        }
+
+    }
+
     static class DummyTraceContext implements TraceContext {
 
         @Override
@@ -16,9 +16,12 @@
 package io.micrometer.tracing.test.reporter.wavefront;
 
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.tracing.reporter.wavefront.SpanMetrics;
 
 /**
@@ -32,6 +35,10 @@ class MeterRegistrySpanMetrics implements SpanMetrics {
 
     private final Counter reportErrors;
 
+    private final DistributionSummary batchSize;
+
+    private final Timer drainLatency;
+
     private final MeterRegistry meterRegistry;
 
     MeterRegistrySpanMetrics(MeterRegistry meterRegistry) {
@@ -39,6 +46,8 @@ class MeterRegistrySpanMetrics implements SpanMetrics {
         this.spansReceived = meterRegistry.counter("reporter.spans.received");
         this.spansDropped = meterRegistry.counter("reporter.spans.dropped");
         this.reportErrors = meterRegistry.counter("reporter.errors");
+        this.batchSize = meterRegistry.summary("reporter.batch.size");
+        this.drainLatency = meterRegistry.timer("reporter.drain.latency");
     }
 
     @Override
@@ -66,4 +75,14 @@ class MeterRegistrySpanMetrics implements SpanMetrics {
         meterRegistry.gauge("reporter.queue.remaining_capacity", queue, q -> (double) q.remainingCapacity());
     }
 
+    @Override
+    public void reportBatchSize(int batchSize) {
+        this.batchSize.record(batchSize);
+    }
+
+    @Override
+    public void reportDrainLatency(long latencyNanos) {
+        drainLatency.record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
 }
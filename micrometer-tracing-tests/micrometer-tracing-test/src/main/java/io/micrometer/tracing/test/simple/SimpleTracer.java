@@ -215,7 +215,13 @@ public class SimpleTracer implements Tracer {
     }
 
     static void setCurrentSpan(TraceContext context) {
-        scopedSpans.set(context != null ? getSpanForTraceContext(context) : null);
+        SimpleSpan span = context != null ? getSpanForTraceContext(context) : null;
+        if (span != null) {
+            scopedSpans.set(span);
+        }
+        else {
+            scopedSpans.remove();
+        }
     }
 
 }
@@ -0,0 +1,96 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.test.annotation;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.tracing.annotation.AsyncMethodInvocationProcessor;
+import io.micrometer.tracing.annotation.DefaultNewSpanParser;
+import io.micrometer.tracing.annotation.NewSpan;
+import io.micrometer.tracing.annotation.SpanAspect;
+import io.micrometer.tracing.contextpropagation.ObservationAwareSpanThreadLocalAccessor;
+import io.micrometer.tracing.test.simple.SimpleSpan;
+import io.micrometer.tracing.test.simple.SimpleTracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class AsyncSpanCreatorAspectTests {
+
+    SimpleTracer tracer = new SimpleTracer();
+
+    ContextRegistry contextRegistry = new ContextRegistry();
+
+    @BeforeEach
+    void setup() {
+        contextRegistry.loadContextAccessors()
+            .registerThreadLocalAccessor(new ObservationAwareSpanThreadLocalAccessor(tracer));
+    }
+
+    private ReactiveBean reactiveBean() {
+        AspectJProxyFactory pf = new AspectJProxyFactory(new ReactiveBean(this.tracer, this.contextRegistry));
+        pf.addAspect(new SpanAspect(new AsyncMethodInvocationProcessor(new DefaultNewSpanParser(), tracer,
+                aClass -> null, aClass -> null)));
+        return pf.getProxy();
+    }
+
+    @Test
+    void shouldNestSpanCreatedInReactorPipelineUnderSpanOfAnnotatedMethod() {
+        Mono<SimpleSpan> pipeline = reactiveBean().parent();
+
+        then(tracer.currentSpan()).isNull();
+        SimpleSpan child = pipeline.block();
+
+        SimpleSpan parent = tracer.getSpans().getFirst();
+        then(parent.getName()).isEqualTo("parent");
+        then(parent.getEndTimestamp().toEpochMilli()).isNotZero();
+        then(child.getName()).isEqualTo("child");
+        then(child.getTraceId()).isEqualTo(parent.getTraceId());
+        then(child.getParentId()).isEqualTo(parent.getSpanId());
+        then(tracer.currentSpan()).isNull();
+    }
+
+    static class ReactiveBean {
+
+        private final SimpleTracer tracer;
+
+        private final ContextRegistry contextRegistry;
+
+        ReactiveBean(SimpleTracer tracer, ContextRegistry contextRegistry) {
+            this.tracer = tracer;
+            this.contextRegistry = contextRegistry;
+        }
+
+        @NewSpan("parent")
+        public Mono<SimpleSpan> parent() {
+            // restores the thread locals from the Reactor Context, as automatic context
+            // propagation does for each operator
+            return Mono.deferContextual(context -> {
+                try (ContextSnapshot.Scope scope = ContextSnapshot.setThreadLocalsFrom(context,
+                        this.contextRegistry, ObservationAwareSpanThreadLocalAccessor.KEY)) {
+                    SimpleSpan child = this.tracer.nextSpan().name("child").start();
+                    child.end();
+                    return Mono.just(child);
+                }
+            });
+        }
+
+    }
+
+}
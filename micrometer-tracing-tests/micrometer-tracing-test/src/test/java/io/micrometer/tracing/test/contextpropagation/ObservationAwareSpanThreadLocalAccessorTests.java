@@ -182,6 +182,33 @@ class ObservationAwareSpanThreadLocalAccessorTests {
 
     }
 
+    @Test
+    void capturingSnapshotsShouldNotAffectRestoringOnTheSameThread() {
+        SimpleSpan firstSpan = tracer.nextSpan().name("First span").start();
+        ContextSnapshot snapshot;
+        try (Tracer.SpanInScope scope = this.tracer.withSpan(firstSpan)) {
+            snapshot = ContextSnapshot.captureAll(contextRegistry);
+            // captured snapshots that are never restored must not leave anything behind
+            ContextSnapshot.captureAll(contextRegistry);
+            ContextSnapshot.captureAll(contextRegistry);
+        }
+        SimpleSpan secondSpan = tracer.nextSpan().name("Second span").start();
+        try (Tracer.SpanInScope scope = this.tracer.withSpan(secondSpan)) {
+            try (ContextSnapshot.Scope restored = snapshot.setThreadLocals()) {
+                then(tracer.currentSpan()).isSameAs(firstSpan);
+                try (ContextSnapshot.Scope nested = ContextSnapshot.captureAll(contextRegistry).setThreadLocals()) {
+                    then(tracer.currentSpan()).isSameAs(firstSpan);
+                }
+                then(tracer.currentSpan()).isSameAs(firstSpan);
+            }
+            then(tracer.currentSpan()).isSameAs(secondSpan);
+        }
+        finally {
+            firstSpan.end();
+            secondSpan.end();
+        }
+    }
+
     private String asyncCall() {
         logWithSpan("TASK EXECUTOR");
         if (tracer.currentSpan() == null) {
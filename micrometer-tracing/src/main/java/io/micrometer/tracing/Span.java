@@ -15,6 +15,8 @@
  */
 package io.micrometer.tracing;
 
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
 import io.micrometer.tracing.propagation.Propagator;
 
 import java.util.concurrent.TimeUnit;
@@ -71,6 +73,11 @@ public interface Span extends io.micrometer.tracing.SpanCustomizer {
             return this;
         }
 
+        @Override
+        public Span tagAll(KeyValues keyValues) {
+            return this;
+        }
+
         @Override
         public Span error(Throwable throwable) {
             return this;
@@ -181,6 +188,19 @@ public interface Span extends io.micrometer.tracing.SpanCustomizer {
         return tag(key, String.valueOf(value));
     }
 
+    /**
+     * Sets all key values as tags on this span. Implementations may set them in bulk.
+     * @param keyValues tags to set
+     * @return this span
+     * @since 1.2.0
+     */
+    default Span tagAll(KeyValues keyValues) {
+        for (KeyValue keyValue : keyValues) {
+            tag(keyValue.getKey(), keyValue.getValue());
+        }
+        return this;
+    }
+
     /**
      * Records an exception for this span.
      * @param throwable to record
@@ -297,6 +317,11 @@ public interface Span extends io.micrometer.tracing.SpanCustomizer {
                 return this;
             }
 
+            @Override
+            public Builder tagAll(KeyValues keyValues) {
+                return this;
+            }
+
             @Override
             public Builder error(Throwable throwable) {
                 return this;
@@ -393,6 +418,19 @@ public interface Span extends io.micrometer.tracing.SpanCustomizer {
             return tag(key, String.valueOf(value));
         }
 
+        /**
+         * Sets all key values as tags on the span.
+         * @param keyValues tags to set
+         * @return this
+         * @since 1.2.0
+         */
+        default Builder tagAll(KeyValues keyValues) {
+            for (KeyValue keyValue : keyValues) {
+                tag(keyValue.getKey(), keyValue.getValue());
+            }
+            return this;
+        }
+
         /**
          * Sets an error on the span.
          * @param throwable error to set
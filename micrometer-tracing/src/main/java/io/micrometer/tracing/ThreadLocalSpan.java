@@ -15,17 +15,21 @@
  */
 package io.micrometer.tracing;
 
-import java.util.ArrayDeque;
+import io.micrometer.common.lang.Nullable;
 
 /**
  * Represents a {@link Span} stored in thread local.
+ * <p>
+ * Spans are kept on a per-thread stack of immutable nodes. Once the last span is removed
+ * the thread local entry is cleared, so that short-lived (e.g. virtual) threads don't
+ * retain an empty stack.
  *
  * @author Marcin Grzejszczak
  * @since 1.0.0
  */
 public class ThreadLocalSpan {
 
-    private final ThreadLocal<ArrayDeque<SpanAndScope>> currentSpanInScopeStack = new ThreadLocal<>();
+    private final ThreadLocal<Node> currentSpanInScopeStack = new ThreadLocal<>();
 
     private final Tracer tracer;
 
@@ -44,15 +48,17 @@ public class ThreadLocalSpan {
     public void set(Span span) {
         Tracer.SpanInScope spanInScope = this.tracer.withSpan(span);
         SpanAndScope newSpanAndScope = new SpanAndScope(span, spanInScope);
-        getCurrentSpanInScopeStack().addFirst(newSpanAndScope);
+        this.currentSpanInScopeStack.set(new Node(newSpanAndScope, this.currentSpanInScopeStack.get()));
     }
 
     /**
      * Returns the currently stored span and scope.
      * @return span and scope
      */
+    @Nullable
     public SpanAndScope get() {
-        return getCurrentSpanInScopeStack().peekFirst();
+        Node node = this.currentSpanInScopeStack.get();
+        return node != null ? node.spanAndScope : null;
     }
 
     /**
@@ -60,24 +66,37 @@ public class ThreadLocalSpan {
      * current thread local.
      * @return removed span of {@code null} if there was none
      */
+    @Nullable
     public SpanAndScope remove() {
-        SpanAndScope spanAndScope = getCurrentSpanInScopeStack().pollFirst();
-        if (spanAndScope == null) {
+        Node node = this.currentSpanInScopeStack.get();
+        if (node == null) {
             return null;
         }
+        if (node.previous != null) {
+            this.currentSpanInScopeStack.set(node.previous);
+        }
+        else {
+            this.currentSpanInScopeStack.remove();
+        }
+        SpanAndScope spanAndScope = node.spanAndScope;
         if (spanAndScope.getScope() != null) {
             spanAndScope.getScope().close();
         }
         return spanAndScope;
     }
 
-    private ArrayDeque<SpanAndScope> getCurrentSpanInScopeStack() {
-        ArrayDeque<SpanAndScope> stack = this.currentSpanInScopeStack.get();
-        if (stack == null) {
-            stack = new ArrayDeque<>();
-            this.currentSpanInScopeStack.set(stack);
+    private static final class Node {
+
+        private final SpanAndScope spanAndScope;
+
+        @Nullable
+        private final Node previous;
+
+        private Node(SpanAndScope spanAndScope, @Nullable Node previous) {
+            this.spanAndScope = spanAndScope;
+            this.previous = previous;
         }
-        return stack;
+
     }
 
 }
@@ -15,6 +15,7 @@
  */
 package io.micrometer.tracing.annotation;
 
+import io.micrometer.common.lang.Nullable;
 import io.micrometer.common.util.internal.logging.InternalLogger;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 import io.micrometer.tracing.CurrentTraceContext;
@@ -22,6 +23,10 @@ import io.micrometer.tracing.Span;
 import io.micrometer.tracing.Tracer;
 import org.aopalliance.intercept.MethodInvocation;
 
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 abstract class AbstractMethodInvocationProcessor implements MethodInvocationProcessor {
 
     private static final InternalLogger logger = InternalLoggerFactory
@@ -35,6 +40,12 @@ abstract class AbstractMethodInvocationProcessor implements MethodInvocationProc
 
     final SpanTagAnnotationHandler spanTagAnnotationHandler;
 
+    /**
+     * Metadata per target class and method, a method inherited by several classes has
+     * metadata for each of them.
+     */
+    private final Map<Class<?>, Map<Method, MethodMetadata>> methodMetadata = new ConcurrentHashMap<>();
+
     AbstractMethodInvocationProcessor(NewSpanParser newSpanParser, Tracer tracer,
             CurrentTraceContext currentTraceContext, SpanTagAnnotationHandler spanTagAnnotationHandler) {
         this.newSpanParser = newSpanParser;
@@ -43,43 +54,77 @@ abstract class AbstractMethodInvocationProcessor implements MethodInvocationProc
         this.spanTagAnnotationHandler = spanTagAnnotationHandler;
     }
 
-    void before(MethodInvocation invocation, Span span, String log, boolean hasLog) {
-        if (hasLog) {
-            logEvent(span, String.format(AnnotationSpanDocumentation.Events.BEFORE.getValue(), log));
+    /**
+     * Returns the metadata of the invoked method, resolving it on first use.
+     * @param invocation method invocation
+     * @param newSpan new span annotation, if any
+     * @param continueSpan continue span annotation, if any
+     * @return metadata of the invoked method
+     */
+    MethodMetadata metadata(MethodInvocation invocation, @Nullable NewSpan newSpan,
+            @Nullable ContinueSpan continueSpan) {
+        Class<?> targetClass = MethodMetadata.targetClass(invocation);
+        Class<?> key = targetClass != null ? targetClass : MethodInvocation.class;
+        Map<Method, MethodMetadata> classMetadata = this.methodMetadata.get(key);
+        if (classMetadata == null) {
+            classMetadata = new ConcurrentHashMap<>();
+            Map<Method, MethodMetadata> existing = this.methodMetadata.putIfAbsent(key, classMetadata);
+            if (existing != null) {
+                classMetadata = existing;
+            }
         }
-        if (invocation instanceof SpanAspectMethodInvocation) {
-            SpanAspectMethodInvocation spanInvocation = (SpanAspectMethodInvocation) invocation;
-            spanTagAnnotationHandler.addAnnotatedParameters(tracer.currentSpanCustomizer(), spanInvocation.getPjp());
+        MethodMetadata metadata = classMetadata.get(invocation.getMethod());
+        if (metadata == null || !metadata.matches(invocation, newSpan, continueSpan)) {
+            metadata = MethodMetadata.of(invocation, newSpan, continueSpan);
+            classMetadata.put(metadata.method, metadata);
         }
-        addTags(invocation, span);
+        return metadata;
     }
 
-    void after(Span span, boolean isNewSpan, String log, boolean hasLog) {
-        if (hasLog) {
-            logEvent(span, String.format(AnnotationSpanDocumentation.Events.AFTER.getValue(), log));
+    void nameNewSpan(MethodInvocation invocation, MethodMetadata metadata, Span span) {
+        if (this.newSpanParser.getClass() == DefaultNewSpanParser.class) {
+            span.name(metadata.spanName);
+        }
+        else {
+            this.newSpanParser.parse(invocation, metadata.newSpan, span);
+        }
+    }
+
+    void before(MethodInvocation invocation, Span span, MethodMetadata metadata) {
+        if (metadata.hasLog) {
+            logEvent(span, metadata.beforeEvent);
+        }
+        if (metadata.tagAnnotations.length > 0) {
+            this.spanTagAnnotationHandler.addAnnotatedArguments(this.tracer.currentSpanCustomizer(), metadata,
+                    invocation.getArguments());
+        }
+        addTags(span, metadata);
+    }
+
+    void after(Span span, boolean isNewSpan, MethodMetadata metadata) {
+        if (metadata.hasLog) {
+            logEvent(span, metadata.afterEvent);
         }
         if (isNewSpan) {
             span.end();
         }
     }
 
-    void onFailure(Span span, String log, boolean hasLog, Throwable e) {
+    void onFailure(Span span, MethodMetadata metadata, Throwable e) {
         if (logger.isDebugEnabled()) {
             logger.debug("Exception occurred while trying to continue the pointcut", e);
         }
-        if (hasLog) {
-            logEvent(span, String.format(AnnotationSpanDocumentation.Events.AFTER_FAILURE.getValue(), log));
+        if (metadata.hasLog) {
+            logEvent(span, metadata.afterFailureEvent);
         }
         span.error(e);
     }
 
-    void addTags(MethodInvocation invocation, Span span) {
-        if (invocation instanceof SpanAspectMethodInvocation) {
-            SpanAspectMethodInvocation methodInvocation = (SpanAspectMethodInvocation) invocation;
-            span.tag(AnnotationSpanDocumentation.Tags.CLASS.asString(),
-                    methodInvocation.getPjp().getTarget().getClass().getSimpleName());
+    void addTags(Span span, MethodMetadata metadata) {
+        if (metadata.classTag != null) {
+            span.tag(AnnotationSpanDocumentation.Tags.CLASS.asString(), metadata.classTag);
         }
-        span.tag(AnnotationSpanDocumentation.Tags.METHOD.asString(), invocation.getMethod().getName());
+        span.tag(AnnotationSpanDocumentation.Tags.METHOD.asString(), metadata.methodTag);
     }
 
     void logEvent(Span span, String name) {
@@ -93,11 +138,4 @@ abstract class AbstractMethodInvocationProcessor implements MethodInvocationProc
         span.event(name);
     }
 
-    String log(ContinueSpan continueSpan) {
-        if (continueSpan != null) {
-            return continueSpan.log();
-        }
-        return "";
-    }
-
 }
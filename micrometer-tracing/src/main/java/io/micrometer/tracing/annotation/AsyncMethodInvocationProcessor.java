@@ -0,0 +1,154 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.annotation;
+
+import io.micrometer.common.annotation.ValueExpressionResolver;
+import io.micrometer.common.annotation.ValueResolver;
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.contextpropagation.ObservationAwareSpanThreadLocalAccessor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Method Invocation processor that is aware of asynchronous results. When the annotated
+ * method returns a {@link CompletionStage} the span is ended when the stage completes.
+ * When it returns a Reactive Streams {@code Publisher} (e.g. a Reactor {@code Mono} or
+ * {@code Flux}) the span is ended when the publisher terminates or its subscription is
+ * cancelled. Any other result is processed as by the
+ * {@link ImperativeMethodInvocationProcessor}.
+ * <p>
+ * The span is in scope only while the annotated method runs, i.e. while a Reactor
+ * pipeline is assembled but not while it executes. Completion callbacks do not put it in
+ * scope, so no scope is held open across threads and no thread is blocked waiting for
+ * the result. For a Reactor {@code Mono} or {@code Flux} the span is written into the
+ * Reactor {@code Context} under {@link ObservationAwareSpanThreadLocalAccessor#KEY}, so
+ * that context propagation (e.g. {@code Hooks.enableAutomaticContextPropagation()} with a
+ * registered {@link ObservationAwareSpanThreadLocalAccessor}) puts it in scope in the
+ * operators of the pipeline and spans created there become its children. Other
+ * publishers and completion stages carry no context, spans created while they execute are
+ * not children of this span. A publisher that is never subscribed to never ends its span.
+ *
+ * @since 1.2.0
+ */
+public class AsyncMethodInvocationProcessor extends AbstractMethodInvocationProcessor {
+
+    private static final boolean REACTIVE_STREAMS_PRESENT = isPresent("org.reactivestreams.Publisher");
+
+    /**
+     * Creates a new instance of {@link AsyncMethodInvocationProcessor}.
+     * @param newSpanParser new span parser
+     * @param tracer tracer
+     * @param resolverProvider converts a class into an instance of resolver provider
+     * @param expressionResolverProvider converts a class into an instance of expression
+     * resolver provider
+     */
+    public AsyncMethodInvocationProcessor(NewSpanParser newSpanParser, Tracer tracer,
+            Function<Class<? extends ValueResolver>, ? extends ValueResolver> resolverProvider,
+            Function<Class<? extends ValueExpressionResolver>, ? extends ValueExpressionResolver> expressionResolverProvider) {
+        super(newSpanParser, tracer, tracer.currentTraceContext(),
+                new SpanTagAnnotationHandler(resolverProvider, expressionResolverProvider));
+    }
+
+    private static boolean isPresent(String className) {
+        try {
+            Class.forName(className, false, AsyncMethodInvocationProcessor.class.getClassLoader());
+            return true;
+        }
+        catch (Throwable ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public Object process(MethodInvocation invocation, NewSpan newSpan, ContinueSpan continueSpan) throws Throwable {
+        MethodMetadata metadata = metadata(invocation, newSpan, continueSpan);
+        Span span = tracer.currentSpan();
+        // in case of @ContinueSpan and no span in tracer we start new span and should
+        // close it on completion
+        boolean startNewSpan = newSpan != null || span == null;
+        if (startNewSpan) {
+            span = tracer.nextSpan();
+            nameNewSpan(invocation, metadata, span);
+            span.start();
+        }
+        Object result;
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            before(invocation, span, metadata);
+            result = invocation.proceed();
+        }
+        catch (Throwable ex) {
+            if (ex instanceof Exception) {
+                onFailure(span, metadata, ex);
+            }
+            after(span, startNewSpan, metadata);
+            throw ex;
+        }
+        SpanTermination termination = new SpanTermination(span, startNewSpan, metadata);
+        if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((value, error) -> termination.terminate(error));
+            return result;
+        }
+        if (REACTIVE_STREAMS_PRESENT && PublisherSupport.isPublisher(result)) {
+            Object decorated = PublisherSupport.decorate(result, invocation.getMethod().getReturnType(), span,
+                    termination::terminate);
+            if (decorated != null) {
+                return decorated;
+            }
+        }
+        termination.terminate(null);
+        return result;
+    }
+
+    /**
+     * Ends the span of one invocation, at most once.
+     */
+    private final class SpanTermination {
+
+        private final Span span;
+
+        private final boolean isNewSpan;
+
+        private final MethodMetadata metadata;
+
+        private final AtomicBoolean terminated = new AtomicBoolean();
+
+        private SpanTermination(Span span, boolean isNewSpan, MethodMetadata metadata) {
+            this.span = span;
+            this.isNewSpan = isNewSpan;
+            this.metadata = metadata;
+        }
+
+        void terminate(@Nullable Throwable error) {
+            if (!this.terminated.compareAndSet(false, true)) {
+                return;
+            }
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                onFailure(this.span, this.metadata, cause);
+            }
+            after(this.span, this.isNewSpan, this.metadata);
+        }
+
+    }
+
+}
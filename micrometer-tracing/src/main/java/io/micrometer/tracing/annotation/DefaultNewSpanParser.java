@@ -19,9 +19,11 @@ import io.micrometer.common.util.StringUtils;
 import io.micrometer.common.util.internal.logging.InternalLogger;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 import io.micrometer.tracing.Span;
-import io.micrometer.tracing.internal.SpanNameUtil;
+import io.micrometer.tracing.internal.SpanNameCache;
 import org.aopalliance.intercept.MethodInvocation;
 
+import java.lang.reflect.Method;
+
 /**
  * Default implementation of the {@link NewSpanParser} that parses only the span name.
  *
@@ -36,8 +38,8 @@ public class DefaultNewSpanParser implements NewSpanParser {
 
     @Override
     public void parse(MethodInvocation pjp, NewSpan newSpan, Span span) {
-        String name = spanName(newSpan, pjp);
-        String changedName = SpanNameUtil.toLowerHyphen(name);
+        String name = spanName(newSpan, pjp.getMethod());
+        String changedName = SpanNameCache.getDefault().toLowerHyphen(name);
         if (log.isDebugEnabled()) {
             log.debug("For the class [" + pjp.getThis().getClass() + "] method " + "[" + pjp.getMethod().getName()
                     + "] will name the span [" + changedName + "]");
@@ -45,15 +47,15 @@ public class DefaultNewSpanParser implements NewSpanParser {
         span.name(changedName);
     }
 
-    private String spanName(NewSpan newSpan, MethodInvocation pjp) {
+    static String spanName(NewSpan newSpan, Method method) {
         if (newSpan == null) {
-            return pjp.getMethod().getName();
+            return method.getName();
         }
         String name = newSpan.name();
         String value = newSpan.value();
         boolean nameEmpty = StringUtils.isEmpty(name);
         if (nameEmpty && StringUtils.isEmpty(value)) {
-            return pjp.getMethod().getName();
+            return method.getName();
         }
         return nameEmpty ? value : name;
     }
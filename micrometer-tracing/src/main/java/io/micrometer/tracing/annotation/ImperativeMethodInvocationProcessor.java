@@ -17,7 +17,6 @@ package io.micrometer.tracing.annotation;
 
 import io.micrometer.common.annotation.ValueExpressionResolver;
 import io.micrometer.common.annotation.ValueResolver;
-import io.micrometer.common.util.StringUtils;
 import io.micrometer.tracing.Span;
 import io.micrometer.tracing.Tracer;
 import org.aopalliance.intercept.MethodInvocation;
@@ -56,27 +55,26 @@ public class ImperativeMethodInvocationProcessor extends AbstractMethodInvocatio
 
     private Object proceedUnderSynchronousSpan(MethodInvocation invocation, NewSpan newSpan, ContinueSpan continueSpan)
             throws Throwable {
+        MethodMetadata metadata = metadata(invocation, newSpan, continueSpan);
         Span span = tracer.currentSpan();
         // in case of @ContinueSpan and no span in tracer we start new span and should
         // close it on completion
         boolean startNewSpan = newSpan != null || span == null;
         if (startNewSpan) {
             span = tracer.nextSpan();
-            newSpanParser.parse(invocation, newSpan, span);
+            nameNewSpan(invocation, metadata, span);
             span.start();
         }
-        String log = log(continueSpan);
-        boolean hasLog = StringUtils.isNotBlank(log);
         try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
-            before(invocation, span, log, hasLog);
+            before(invocation, span, metadata);
             return invocation.proceed();
         }
         catch (Exception ex) {
-            onFailure(span, log, hasLog, ex);
+            onFailure(span, metadata, ex);
             throw ex;
         }
         finally {
-            after(span, startNewSpan, log, hasLog);
+            after(span, startNewSpan, metadata);
         }
     }
 
@@ -0,0 +1,171 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.annotation;
+
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.common.util.StringUtils;
+import io.micrometer.tracing.internal.SpanNameCache;
+import org.aopalliance.intercept.MethodInvocation;
+import org.aspectj.lang.ProceedingJoinPoint;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable data resolved once per intercepted {@link Method} and target class: the span
+ * name used by the {@link DefaultNewSpanParser}, the values of the class and method tags,
+ * the names of the log events and the parameters annotated with {@link SpanTag}.
+ * <p>
+ * The metadata is computed from the {@link NewSpan} and {@link ContinueSpan} instances
+ * that were passed along with the invocation and from the classes of the invoked object,
+ * {@link #matches} tells whether it can be reused for another invocation.
+ */
+final class MethodMetadata {
+
+    final Method method;
+
+    @Nullable
+    final Class<?> thisClass;
+
+    @Nullable
+    final Class<?> targetClass;
+
+    @Nullable
+    final NewSpan newSpan;
+
+    @Nullable
+    final ContinueSpan continueSpan;
+
+    final String spanName;
+
+    final String log;
+
+    final boolean hasLog;
+
+    final String beforeEvent;
+
+    final String afterEvent;
+
+    final String afterFailureEvent;
+
+    @Nullable
+    final String classTag;
+
+    final String methodTag;
+
+    final int[] tagParameterIndexes;
+
+    final SpanTag[] tagAnnotations;
+
+    private MethodMetadata(MethodInvocation invocation, @Nullable NewSpan newSpan,
+            @Nullable ContinueSpan continueSpan) {
+        this.method = invocation.getMethod();
+        ProceedingJoinPoint pjp = invocation instanceof SpanAspectMethodInvocation
+                ? ((SpanAspectMethodInvocation) invocation).getPjp() : null;
+        this.thisClass = pjp != null ? pjp.getThis().getClass() : null;
+        this.targetClass = pjp != null ? pjp.getTarget().getClass() : null;
+        this.newSpan = newSpan;
+        this.continueSpan = continueSpan;
+        this.spanName = SpanNameCache.getDefault().toLowerHyphen(DefaultNewSpanParser.spanName(newSpan, this.method));
+        this.log = continueSpan != null ? continueSpan.log() : "";
+        this.hasLog = StringUtils.isNotBlank(this.log);
+        this.beforeEvent = String.format(AnnotationSpanDocumentation.Events.BEFORE.getValue(), this.log);
+        this.afterEvent = String.format(AnnotationSpanDocumentation.Events.AFTER.getValue(), this.log);
+        this.afterFailureEvent = String.format(AnnotationSpanDocumentation.Events.AFTER_FAILURE.getValue(),
+                this.log);
+        this.classTag = this.targetClass != null ? this.targetClass.getSimpleName() : null;
+        this.methodTag = this.method.getName();
+        List<Integer> indexes = new ArrayList<>();
+        List<SpanTag> annotations = new ArrayList<>();
+        if (pjp != null) {
+            boolean[] annotated = new boolean[this.method.getParameterCount()];
+            addSpanTags(this.method, annotated, indexes, annotations);
+            for (Class<?> implementedInterface : this.thisClass.getInterfaces()) {
+                try {
+                    addSpanTags(implementedInterface.getMethod(this.method.getName(),
+                            this.method.getParameterTypes()), annotated, indexes, annotations);
+                }
+                catch (NoSuchMethodException ex) {
+                    // the interface does not declare the invoked method
+                }
+            }
+        }
+        this.tagParameterIndexes = new int[indexes.size()];
+        for (int i = 0; i < this.tagParameterIndexes.length; i++) {
+            this.tagParameterIndexes[i] = indexes.get(i);
+        }
+        this.tagAnnotations = annotations.toArray(new SpanTag[0]);
+    }
+
+    static MethodMetadata of(MethodInvocation invocation, @Nullable NewSpan newSpan,
+            @Nullable ContinueSpan continueSpan) {
+        return new MethodMetadata(invocation, newSpan, continueSpan);
+    }
+
+    /**
+     * Returns the class of the invoked object, the same method may be invoked on several
+     * subclasses of the class declaring it.
+     * @param invocation method invocation
+     * @return class of the target or {@code null} when not invoked through the aspect
+     */
+    @Nullable
+    static Class<?> targetClass(MethodInvocation invocation) {
+        if (invocation instanceof SpanAspectMethodInvocation) {
+            return ((SpanAspectMethodInvocation) invocation).getPjp().getTarget().getClass();
+        }
+        return null;
+    }
+
+    /**
+     * Parameters that are already annotated are skipped, so that the annotation of the
+     * implementation wins over the one of an interface, as in the annotation handler.
+     */
+    private static void addSpanTags(Method method, boolean[] annotated, List<Integer> indexes,
+            List<SpanTag> annotations) {
+        Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            if (annotated[i]) {
+                continue;
+            }
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof SpanTag) {
+                    annotated[i] = true;
+                    indexes.add(i);
+                    annotations.add((SpanTag) annotation);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Annotations are compared by identity, the ones read from a {@link Method} are the
+     * same instances for all invocations.
+     */
+    boolean matches(MethodInvocation invocation, @Nullable NewSpan newSpan, @Nullable ContinueSpan continueSpan) {
+        if (this.newSpan != newSpan || this.continueSpan != continueSpan) {
+            return false;
+        }
+        if (invocation instanceof SpanAspectMethodInvocation) {
+            ProceedingJoinPoint pjp = ((SpanAspectMethodInvocation) invocation).getPjp();
+            return pjp.getThis().getClass() == this.thisClass && pjp.getTarget().getClass() == this.targetClass;
+        }
+        return this.thisClass == null;
+    }
+
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.annotation;
+
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.contextpropagation.ObservationAwareSpanThreadLocalAccessor;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Consumer;
+
+/**
+ * Ends spans of methods returning a Reactive Streams {@link Publisher} when the publisher
+ * terminates or is cancelled. Only loaded when Reactive Streams is on the classpath;
+ * Reactor types keep their type and get the span written into their subscriber context.
+ */
+final class PublisherSupport {
+
+    private static final boolean REACTOR_PRESENT = isReactorPresent();
+
+    private PublisherSupport() {
+
+    }
+
+    private static boolean isReactorPresent() {
+        try {
+            Class.forName("reactor.core.publisher.Mono", false, PublisherSupport.class.getClassLoader());
+            return true;
+        }
+        catch (Throwable ex) {
+            return false;
+        }
+    }
+
+    static boolean isPublisher(Object result) {
+        return result instanceof Publisher;
+    }
+
+    /**
+     * Decorates the publisher so that the callback is called when it terminates. The
+     * callback receives the error or {@code null} on completion and cancellation. Reactor
+     * publishers also get the span written into their subscriber context under the
+     * {@link ObservationAwareSpanThreadLocalAccessor#KEY}.
+     * @param result publisher returned by the annotated method
+     * @param returnType declared return type of the annotated method
+     * @param span span of the annotated method
+     * @param onTermination termination callback
+     * @return decorated publisher or {@code null} when the publisher can't be decorated
+     * without breaking the declared return type
+     */
+    @Nullable
+    static Object decorate(Object result, Class<?> returnType, Span span, Consumer<Throwable> onTermination) {
+        if (REACTOR_PRESENT) {
+            Object decorated = ReactorSupport.decorate(result, span, onTermination);
+            if (decorated != null) {
+                return decorated;
+            }
+        }
+        TerminationAwarePublisher<?> decorated = new TerminationAwarePublisher<>((Publisher<?>) result,
+                onTermination);
+        return returnType.isInstance(decorated) ? decorated : null;
+    }
+
+    private static final class ReactorSupport {
+
+        @Nullable
+        static Object decorate(Object result, Span span, Consumer<Throwable> onTermination) {
+            if (result instanceof Mono) {
+                return ((Mono<?>) result).doOnError(onTermination)
+                    .doOnCancel(() -> onTermination.accept(null))
+                    .doOnTerminate(() -> onTermination.accept(null))
+                    .contextWrite(context -> context.put(ObservationAwareSpanThreadLocalAccessor.KEY, span));
+            }
+            else if (result instanceof Flux) {
+                return ((Flux<?>) result).doOnError(onTermination)
+                    .doOnCancel(() -> onTermination.accept(null))
+                    .doOnTerminate(() -> onTermination.accept(null))
+                    .contextWrite(context -> context.put(ObservationAwareSpanThreadLocalAccessor.KEY, span));
+            }
+            return null;
+        }
+
+    }
+
+    private static final class TerminationAwarePublisher<T> implements Publisher<T> {
+
+        private final Publisher<T> delegate;
+
+        private final Consumer<Throwable> onTermination;
+
+        private TerminationAwarePublisher(Publisher<T> delegate, Consumer<Throwable> onTermination) {
+            this.delegate = delegate;
+            this.onTermination = onTermination;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super T> subscriber) {
+            this.delegate.subscribe(new TerminationAwareSubscriber<>(subscriber, this.onTermination));
+        }
+
+    }
+
+    private static final class TerminationAwareSubscriber<T> implements Subscriber<T> {
+
+        private final Subscriber<? super T> delegate;
+
+        private final Consumer<Throwable> onTermination;
+
+        private TerminationAwareSubscriber(Subscriber<? super T> delegate, Consumer<Throwable> onTermination) {
+            this.delegate = delegate;
+            this.onTermination = onTermination;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.delegate.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    subscription.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    subscription.cancel();
+                    onTermination.accept(null);
+                }
+            });
+        }
+
+        @Override
+        public void onNext(T t) {
+            this.delegate.onNext(t);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.onTermination.accept(throwable);
+            this.delegate.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            this.onTermination.accept(null);
+            this.delegate.onComplete();
+        }
+
+    }
+
+}
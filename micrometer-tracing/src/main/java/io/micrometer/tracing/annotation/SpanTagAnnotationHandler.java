@@ -21,6 +21,8 @@ import io.micrometer.common.annotation.AnnotationHandler;
 import io.micrometer.common.annotation.ValueExpressionResolver;
 import io.micrometer.common.annotation.ValueResolver;
 import io.micrometer.common.util.StringUtils;
+import io.micrometer.common.util.internal.logging.InternalLogger;
+import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 import io.micrometer.tracing.SpanCustomizer;
 
 import java.util.function.Function;
@@ -41,6 +43,12 @@ import java.util.function.Function;
  */
 class SpanTagAnnotationHandler extends AnnotationHandler<SpanCustomizer> {
 
+    private static final InternalLogger log = InternalLoggerFactory.getInstance(SpanTagAnnotationHandler.class);
+
+    private final Function<Class<? extends ValueResolver>, ? extends ValueResolver> resolverProvider;
+
+    private final Function<Class<? extends ValueExpressionResolver>, ? extends ValueExpressionResolver> expressionResolverProvider;
+
     public SpanTagAnnotationHandler(Function<Class<? extends ValueResolver>, ? extends ValueResolver> resolverProvider,
             Function<Class<? extends ValueExpressionResolver>, ? extends ValueExpressionResolver> expressionResolverProvider) {
         super((keyValue, spanCustomizer) -> spanCustomizer.tag(keyValue.getKey(), keyValue.getValue()),
@@ -52,6 +60,29 @@ class SpanTagAnnotationHandler extends AnnotationHandler<SpanCustomizer> {
                     return KeyValue.of(resolveTagKey(spanTag),
                             resolveTagValue(spanTag, o, resolverProvider, expressionResolverProvider));
                 });
+        this.resolverProvider = resolverProvider;
+        this.expressionResolverProvider = expressionResolverProvider;
+    }
+
+    /**
+     * Tags the arguments of the {@link SpanTag} annotated parameters resolved in the
+     * given metadata.
+     * @param spanCustomizer span customizer to tag
+     * @param metadata metadata of the invoked method
+     * @param arguments arguments of the invocation
+     */
+    void addAnnotatedArguments(SpanCustomizer spanCustomizer, MethodMetadata metadata, Object[] arguments) {
+        try {
+            for (int i = 0; i < metadata.tagAnnotations.length; i++) {
+                SpanTag annotation = metadata.tagAnnotations[i];
+                Object argument = arguments[metadata.tagParameterIndexes[i]];
+                spanCustomizer.tag(resolveTagKey(annotation), resolveTagValue(annotation, argument,
+                        this.resolverProvider, this.expressionResolverProvider));
+            }
+        }
+        catch (Exception ex) {
+            log.error("Exception occurred while trying to add annotated parameters", ex);
+        }
     }
 
     private static String resolveTagKey(SpanTag annotation) {
@@ -26,11 +26,8 @@ import io.micrometer.tracing.Span;
 import io.micrometer.tracing.Tracer;
 import io.micrometer.tracing.handler.TracingObservationHandler;
 
-import java.io.Closeable;
-import java.io.IOException;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A {@link ThreadLocalAccessor} to put and restore current {@link Span} depending on
@@ -60,7 +57,7 @@ public class ObservationAwareSpanThreadLocalAccessor implements ThreadLocalAcces
     private static final InternalLogger log = InternalLoggerFactory
         .getInstance(ObservationAwareSpanThreadLocalAccessor.class);
 
-    private final Map<Thread, SpanAction> spanActions = new ConcurrentHashMap<>();
+    private final ThreadLocal<SpanActions> spanActions = new ThreadLocal<>();
 
     /**
      * Key under which Micrometer Tracing is being registered.
@@ -96,61 +93,56 @@ public class ObservationAwareSpanThreadLocalAccessor implements ThreadLocalAcces
 
     @Override
     public Span getValue() {
+        SpanActions spanActions = spanActions();
         Observation currentObservation = registry.getCurrentObservation();
         if (currentObservation != null) {
             // There's a current observation so OTLA hooked in
             // we will now check if the user created spans manually or not
             TracingObservationHandler.TracingContext tracingContext = currentObservation.getContext()
-                .getOrDefault(TracingObservationHandler.TracingContext.class,
-                        new TracingObservationHandler.TracingContext());
+                .get(TracingObservationHandler.TracingContext.class);
+            Span observationSpan = tracingContext != null ? tracingContext.getSpan() : null;
             Span currentSpan = tracer.currentSpan();
             // If there is a span in ThreadLocal and it's the same one as the one from a
             // tracing handler
             // then OTLA did its job and we should back off
-            if (currentSpan != null && !currentSpan.equals(tracingContext.getSpan())) {
+            if (currentSpan != null && !currentSpan.equals(observationSpan)) {
                 // User created child spans manually and scoped them
                 // the current span is not the same as the one from observation
-                spanActions.put(Thread.currentThread(),
-                        new SpanAction(SpanSituation.OBSERVATION_AND_MANUAL_SPAN_PRESENT, spanActions));
+                spanActions.pending = SpanSituation.OBSERVATION_AND_MANUAL_SPAN_PRESENT;
                 return currentSpan;
             }
             // Current span is same as the one from observation, we will skip this
-            spanActions.put(Thread.currentThread(),
-                    new SpanAction(SpanSituation.SPAN_SAME_AS_OBSERVATION_SO_SKIP, spanActions));
+            spanActions.pending = SpanSituation.SPAN_SAME_AS_OBSERVATION_SO_SKIP;
             return null;
         }
         // No current observation so let's check the tracer
-        spanActions.put(Thread.currentThread(), new SpanAction(SpanSituation.NO_OBSERVATION_PRESENT, spanActions));
+        spanActions.pending = SpanSituation.NO_OBSERVATION_PRESENT;
         return this.tracer.currentSpan();
     }
 
     @Override
     public void setValue(Span value) {
-        SpanAction spanAction = spanActions.get(Thread.currentThread());
-        Tracer.SpanInScope scope = this.tracer.withSpan(value);
-        if (spanAction == null) {
-            spanAction = new SpanAction(SpanSituation.NO_OBSERVATION_PRESENT, spanActions);
-        }
-        spanAction.setScope(scope);
+        SpanActions spanActions = spanActions();
+        SpanSituation spanSituation = spanActions.takePending(SpanSituation.NO_OBSERVATION_PRESENT);
+        spanActions.push(spanSituation, this.tracer.withSpan(value));
     }
 
     @Override
     public void setValue() {
-        SpanAction spanAction = spanActions.get(Thread.currentThread());
-        if (spanAction == null || spanAction.spanSituation == SpanSituation.SPAN_SAME_AS_OBSERVATION_SO_SKIP) {
+        SpanActions spanActions = spanActions();
+        SpanSituation spanSituation = spanActions.takePending(SpanSituation.SPAN_SAME_AS_OBSERVATION_SO_SKIP);
+        if (spanSituation == SpanSituation.SPAN_SAME_AS_OBSERVATION_SO_SKIP) {
+            spanActions.push(spanSituation, null);
             return;
         }
-        Tracer.SpanInScope scope = this.tracer.withSpan(null);
-        spanAction.setScope(scope);
+        spanActions.push(spanSituation, this.tracer.withSpan(null));
     }
 
     @Override
     public void restore(Span previousValue) {
-        SpanAction spanAction = spanActions.get(Thread.currentThread());
-        if (spanAction == null || spanAction.spanSituation == SpanSituation.SPAN_SAME_AS_OBSERVATION_SO_SKIP) {
+        if (!closeScope()) {
             return;
         }
-        spanAction.close();
         Span currentSpan = tracer.currentSpan();
         if (!(previousValue.equals(currentSpan))) {
             String msg = "After closing the scope, current span <" + currentSpan
@@ -163,49 +155,77 @@ public class ObservationAwareSpanThreadLocalAccessor implements ThreadLocalAcces
 
     @Override
     public void restore() {
-        SpanAction spanAction = spanActions.get(Thread.currentThread());
-        if (spanAction == null || spanAction.spanSituation == SpanSituation.SPAN_SAME_AS_OBSERVATION_SO_SKIP) {
-            return;
+        closeScope();
+    }
+
+    /**
+     * Pops the action pushed by the matching {@code setValue} call and closes its scope,
+     * unless the {@link ObservationThreadLocalAccessor} took care of the span.
+     * @return {@code true} when a scope was closed
+     */
+    private boolean closeScope() {
+        SpanActions spanActions = this.spanActions.get();
+        if (spanActions == null || spanActions.size == 0) {
+            return false;
+        }
+        SpanSituation spanSituation = spanActions.situations[spanActions.size - 1];
+        Tracer.SpanInScope scope = spanActions.pop();
+        if (spanSituation == SpanSituation.SPAN_SAME_AS_OBSERVATION_SO_SKIP) {
+            return false;
         }
-        spanAction.close();
+        if (scope != null) {
+            scope.close();
+        }
+        return true;
     }
 
-    static class SpanAction implements Closeable {
+    private SpanActions spanActions() {
+        SpanActions spanActions = this.spanActions.get();
+        if (spanActions == null) {
+            spanActions = new SpanActions();
+            this.spanActions.set(spanActions);
+        }
+        return spanActions;
+    }
 
-        final SpanSituation spanSituation;
+    /**
+     * Thread confined stack of the actions taken by {@code setValue} calls, to be undone by
+     * the matching {@code restore} calls. The situation resolved by {@code getValue} is
+     * kept aside until {@code setValue} is called, since {@code getValue} is also called
+     * when a snapshot is captured, in which case no {@code restore} will ever follow.
+     */
+    static final class SpanActions {
 
-        final SpanAction previous;
+        SpanSituation pending;
 
-        final Map<Thread, SpanAction> todo;
+        SpanSituation[] situations = new SpanSituation[4];
 
-        Closeable scope;
+        Tracer.SpanInScope[] scopes = new Tracer.SpanInScope[4];
 
-        SpanAction(SpanSituation spanSituation, Map<Thread, SpanAction> spanActions) {
-            this.spanSituation = spanSituation;
-            this.previous = spanActions.get(Thread.currentThread());
-            this.todo = spanActions;
-        }
+        int size;
 
-        void setScope(Closeable scope) {
-            this.scope = scope;
+        SpanSituation takePending(SpanSituation defaultSituation) {
+            SpanSituation spanSituation = this.pending;
+            this.pending = null;
+            return spanSituation != null ? spanSituation : defaultSituation;
         }
 
-        @Override
-        public void close() {
-            if (this.scope != null) {
-                try {
-                    this.scope.close();
-                }
-                catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            }
-            if (this.previous != null) {
-                this.todo.put(Thread.currentThread(), this.previous);
-            }
-            else {
-                this.todo.remove(Thread.currentThread());
+        void push(SpanSituation spanSituation, Tracer.SpanInScope scope) {
+            if (this.size == this.situations.length) {
+                this.situations = Arrays.copyOf(this.situations, this.size * 2);
+                this.scopes = Arrays.copyOf(this.scopes, this.size * 2);
             }
+            this.situations[this.size] = spanSituation;
+            this.scopes[this.size] = scope;
+            this.size++;
+        }
+
+        Tracer.SpanInScope pop() {
+            this.size--;
+            Tracer.SpanInScope scope = this.scopes[this.size];
+            this.situations[this.size] = null;
+            this.scopes[this.size] = null;
+            return scope;
         }
 
     }
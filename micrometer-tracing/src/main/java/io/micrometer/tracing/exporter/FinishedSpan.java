@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import io.micrometer.common.lang.Nullable;
 import io.micrometer.tracing.Link;
@@ -82,6 +83,27 @@ public interface FinishedSpan {
      */
     Map<String, String> getTags();
 
+    /**
+     * Looks up a single tag without copying all the tags.
+     * @param key tag key
+     * @return tag value or {@code null} if not present
+     * @since 1.2.0
+     */
+    @Nullable
+    default String getTag(String key) {
+        return getTags().get(key);
+    }
+
+    /**
+     * Calls the consumer with the key and value of every tag, without building an
+     * intermediate map where the implementation allows it.
+     * @param consumer tag consumer
+     * @since 1.2.0
+     */
+    default void forEachTag(BiConsumer<String, String> consumer) {
+        getTags().forEach(consumer);
+    }
+
     /**
      * Sets the tags with typed values.
      * @param tags tags to set
@@ -116,6 +138,18 @@ public interface FinishedSpan {
      */
     Collection<Map.Entry<Long, String>> getEvents();
 
+    /**
+     * Calls the consumer with the timestamp and value of every event, without building
+     * an intermediate collection where the implementation allows it.
+     * @param consumer event consumer
+     * @since 1.2.0
+     */
+    default void forEachEvent(BiConsumer<Long, String> consumer) {
+        for (Map.Entry<Long, String> event : getEvents()) {
+            consumer.accept(event.getKey(), event.getValue());
+        }
+    }
+
     /**
      * @return span's span id
      */
@@ -16,18 +16,25 @@
 package io.micrometer.tracing.exporter;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.regex.PatternSyntaxException;
 
+import io.micrometer.common.lang.Nullable;
 import io.micrometer.common.util.StringUtils;
 import io.micrometer.common.util.internal.logging.InternalLogger;
 import io.micrometer.common.util.internal.logging.InternalLoggerFactory;
 
 /**
- * {@link SpanExportingPredicate} that ignores spans via names.
+ * {@link SpanExportingPredicate} that ignores spans via names. Names without regular
+ * expression syntax are matched through a set lookup, the remaining patterns are
+ * compiled once into a single alternation when they can be safely combined, and decisions
+ * are memoized per span name.
  *
  * @author Marcin Grzejszczak
  * @since 1.0.0
@@ -39,9 +46,19 @@ public class SpanIgnoringSpanExportingPredicate implements SpanExportingPredicat
     private static final InternalLogger log = InternalLoggerFactory
         .getInstance(SpanIgnoringSpanExportingPredicate.class);
 
-    private final List<String> spanNamePatternsToSkip;
+    private static final int MAX_MEMOIZED_NAMES = 1024;
 
-    private final List<String> additionalSpanNamePatternsToIgnore;
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private final Set<String> exactNamesToIgnore;
+
+    @Nullable
+    private final Pattern combinedPattern;
+
+    @Nullable
+    private final List<Pattern> patternsToIgnore;
+
+    private final Map<String, Boolean> memoizedDecisions = new ConcurrentHashMap<>();
 
     /**
      * Creates a new instance of {@link SpanIgnoringSpanExportingPredicate}.
@@ -50,27 +67,109 @@ public class SpanIgnoringSpanExportingPredicate implements SpanExportingPredicat
      */
     public SpanIgnoringSpanExportingPredicate(List<String> spanNamePatternsToSkip,
             List<String> additionalSpanNamePatternsToIgnore) {
-        this.spanNamePatternsToSkip = spanNamePatternsToSkip;
-        this.additionalSpanNamePatternsToIgnore = additionalSpanNamePatternsToIgnore;
+        Set<String> exactNames = new HashSet<>();
+        List<String> regexes = new ArrayList<>();
+        List<String> names = new ArrayList<>(spanNamePatternsToSkip);
+        names.addAll(additionalSpanNamePatternsToIgnore);
+        for (String name : names) {
+            if (isLiteral(name)) {
+                exactNames.add(name);
+            }
+            else if (!regexes.contains(name)) {
+                regexes.add(name);
+            }
+        }
+        this.exactNamesToIgnore = exactNames.isEmpty() ? Collections.emptySet() : exactNames;
+        List<Pattern> patterns = new ArrayList<>(regexes.size());
+        for (String regex : regexes) {
+            // compiling each pattern on its own validates it and keeps the error message
+            // pointing at the offending entry
+            patterns.add(cache.computeIfAbsent(regex, Pattern::compile));
+        }
+        if (patterns.isEmpty()) {
+            this.combinedPattern = null;
+            this.patternsToIgnore = null;
+        }
+        else if (patterns.size() == 1) {
+            this.combinedPattern = patterns.get(0);
+            this.patternsToIgnore = null;
+        }
+        else {
+            this.combinedPattern = combine(regexes);
+            this.patternsToIgnore = this.combinedPattern == null ? patterns : null;
+        }
+    }
+
+    /**
+     * Compiles the patterns into a single alternation, unless some of them can't be
+     * safely combined.
+     * @param regexes patterns that compile on their own
+     * @return combined pattern or {@code null} when the patterns must be matched one by
+     * one
+     */
+    @Nullable
+    private static Pattern combine(List<String> regexes) {
+        for (String regex : regexes) {
+            if (!isCombinable(regex)) {
+                return null;
+            }
+        }
+        try {
+            return Pattern.compile(alternation(regexes));
+        }
+        catch (PatternSyntaxException ex) {
+            if (log.isDebugEnabled()) {
+                log.debug("Span name patterns can't be combined, they will be matched one by one", ex);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Back references are numbered per pattern, named groups must be unique across the
+     * alternation, and an unterminated quote would swallow the patterns that follow.
+     */
+    private static boolean isCombinable(String regex) {
+        return !hasBackReference(regex) && !regex.contains("(?<") && !regex.contains("\\Q");
+    }
+
+    private static boolean isLiteral(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (REGEX_META_CHARACTERS.indexOf(name.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private List<Pattern> spanNamesToIgnore() {
-        return spanNames().stream()
-            .map(regex -> cache.computeIfAbsent(regex, Pattern::compile))
-            .collect(Collectors.toList());
+    private static boolean hasBackReference(String regex) {
+        for (int i = 0; i < regex.length() - 1; i++) {
+            if (regex.charAt(i) == '\\') {
+                char next = regex.charAt(i + 1);
+                if (Character.isDigit(next) || next == 'k') {
+                    return true;
+                }
+                i++;
+            }
+        }
+        return false;
     }
 
-    private List<String> spanNames() {
-        List<String> spanNamesToIgnore = new ArrayList<>(this.spanNamePatternsToSkip);
-        spanNamesToIgnore.addAll(this.additionalSpanNamePatternsToIgnore);
-        return spanNamesToIgnore;
+    private static String alternation(List<String> regexes) {
+        StringBuilder builder = new StringBuilder();
+        for (String regex : regexes) {
+            if (builder.length() > 0) {
+                builder.append('|');
+            }
+            builder.append("(?:").append(regex).append(')');
+        }
+        return builder.toString();
     }
 
     @Override
     public boolean isExportable(FinishedSpan span) {
-        List<Pattern> spanNamesToIgnore = spanNamesToIgnore();
         String name = span.getName();
-        if (StringUtils.isNotEmpty(name) && spanNamesToIgnore.stream().anyMatch(p -> p.matcher(name).matches())) {
+        if (StringUtils.isNotEmpty(name) && shouldIgnore(name)) {
             if (log.isDebugEnabled()) {
                 log.debug("Will ignore a span with name [" + name + "]");
             }
@@ -79,4 +178,36 @@ public class SpanIgnoringSpanExportingPredicate implements SpanExportingPredicat
         return true;
     }
 
+    private boolean shouldIgnore(String name) {
+        if (this.exactNamesToIgnore.contains(name)) {
+            return true;
+        }
+        if (this.combinedPattern == null && this.patternsToIgnore == null) {
+            return false;
+        }
+        Boolean memoized = this.memoizedDecisions.get(name);
+        if (memoized != null) {
+            return memoized;
+        }
+        boolean ignore = matchesPattern(name);
+        // span names are expected to be low cardinality, once the bound is reached the
+        // remaining names are just matched on every call
+        if (this.memoizedDecisions.size() < MAX_MEMOIZED_NAMES) {
+            this.memoizedDecisions.put(name, ignore);
+        }
+        return ignore;
+    }
+
+    private boolean matchesPattern(String name) {
+        if (this.combinedPattern != null) {
+            return this.combinedPattern.matcher(name).matches();
+        }
+        for (Pattern pattern : this.patternsToIgnore) {
+            if (pattern.matcher(name).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
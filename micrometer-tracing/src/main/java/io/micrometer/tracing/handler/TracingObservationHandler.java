@@ -16,6 +16,7 @@
 package io.micrometer.tracing.handler;
 
 import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
 import io.micrometer.common.lang.NonNull;
 import io.micrometer.common.lang.Nullable;
 import io.micrometer.common.util.StringUtils;
@@ -27,10 +28,12 @@ import io.micrometer.tracing.CurrentTraceContext;
 import io.micrometer.tracing.Span;
 import io.micrometer.tracing.TraceContext;
 import io.micrometer.tracing.Tracer;
-import io.micrometer.tracing.internal.SpanNameUtil;
+import io.micrometer.tracing.internal.SpanNameCache;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Marker interface for tracing handlers.
@@ -47,12 +50,37 @@ public interface TracingObservationHandler<T extends Observation.Context> extend
      * @param span span to tag
      */
     default void tagSpan(T context, Span span) {
-        for (KeyValue keyValue : context.getAllKeyValues()) {
-            if (!keyValue.getKey().equalsIgnoreCase("ERROR")) {
-                span.tag(keyValue.getKey(), keyValue.getValue());
+        KeyValues lowCardinalityKeyValues = context.getLowCardinalityKeyValues();
+        KeyValues highCardinalityKeyValues = context.getHighCardinalityKeyValues();
+        boolean hasErrorKey = false;
+        for (KeyValue keyValue : lowCardinalityKeyValues) {
+            if (keyValue.getKey().equalsIgnoreCase("ERROR")) {
+                hasErrorKey = true;
+                break;
             }
-            else {
-                span.error(new RuntimeException(keyValue.getValue()));
+        }
+        if (!hasErrorKey) {
+            for (KeyValue keyValue : highCardinalityKeyValues) {
+                if (keyValue.getKey().equalsIgnoreCase("ERROR")) {
+                    hasErrorKey = true;
+                    break;
+                }
+            }
+        }
+        if (!hasErrorKey) {
+            // high cardinality key values win over low cardinality ones with the same key
+            span.tagAll(lowCardinalityKeyValues);
+            span.tagAll(highCardinalityKeyValues);
+            return;
+        }
+        for (KeyValues keyValues : Arrays.asList(lowCardinalityKeyValues, highCardinalityKeyValues)) {
+            for (KeyValue keyValue : keyValues) {
+                if (!keyValue.getKey().equalsIgnoreCase("ERROR")) {
+                    span.tag(keyValue.getKey(), keyValue.getValue());
+                }
+                else {
+                    span.error(new RuntimeException(keyValue.getValue()));
+                }
             }
         }
     }
@@ -67,7 +95,7 @@ public interface TracingObservationHandler<T extends Observation.Context> extend
         if (StringUtils.isNotBlank(context.getContextualName())) {
             name = context.getContextualName();
         }
-        return SpanNameUtil.toLowerHyphen(name);
+        return SpanNameCache.getDefault().toLowerHyphen(name);
     }
 
     /**
@@ -144,13 +172,15 @@ public interface TracingObservationHandler<T extends Observation.Context> extend
     default Span getParentSpan(Observation.ContextView context) {
         // This would mean that the user has manually created a tracing context
         TracingContext tracingContext = context.get(TracingContext.class);
-        Span currentSpan = getTracer().currentSpan();
         if (tracingContext == null) {
             ObservationView observation = context.getParentObservation();
             if (observation != null) {
                 tracingContext = observation.getContextView().get(TracingContext.class);
                 if (tracingContext != null) {
                     Span spanFromParentObservation = tracingContext.getSpan();
+                    // Only look up the current span when a parent observation can be
+                    // compared with it
+                    Span currentSpan = getTracer().currentSpan();
                     if (spanFromParentObservation == null && currentSpan != null) {
                         return currentSpan;
                     }
@@ -211,9 +241,25 @@ public interface TracingObservationHandler<T extends Observation.Context> extend
      */
     class TracingContext {
 
+        private static final AtomicReferenceFieldUpdater<TracingContext, Thread> SCOPE_OWNER_UPDATER = AtomicReferenceFieldUpdater
+            .newUpdater(TracingContext.class, Thread.class, "scopeOwner");
+
         private Span span;
 
-        private Map<Thread, CurrentTraceContext.Scope> scopes = new ConcurrentHashMap<>();
+        /**
+         * Thread owning the {@link #ownerScope} slot. Most observations open and close
+         * their scopes on a single thread, so its scope is kept in a field and no
+         * {@link Thread} keyed structure is needed.
+         */
+        private volatile Thread scopeOwner;
+
+        private volatile CurrentTraceContext.Scope ownerScope;
+
+        /**
+         * Scopes of every other thread. Created only once a scope is opened on a thread
+         * while another thread owns the {@link #ownerScope} slot.
+         */
+        private volatile Map<Thread, CurrentTraceContext.Scope> scopes;
 
         /**
          * Returns the span.
@@ -236,7 +282,12 @@ public interface TracingObservationHandler<T extends Observation.Context> extend
          * @return scope of the span
          */
         public CurrentTraceContext.Scope getScope() {
-            return this.scopes.get(Thread.currentThread());
+            Thread currentThread = Thread.currentThread();
+            if (this.scopeOwner == currentThread) {
+                return this.ownerScope;
+            }
+            Map<Thread, CurrentTraceContext.Scope> scopes = this.scopes;
+            return scopes != null ? scopes.get(currentThread) : null;
         }
 
         /**
@@ -244,12 +295,46 @@ public interface TracingObservationHandler<T extends Observation.Context> extend
          * @param scope scope to set
          */
         public void setScope(CurrentTraceContext.Scope scope) {
+            Thread currentThread = Thread.currentThread();
+            if (this.scopeOwner == currentThread) {
+                this.ownerScope = scope;
+                if (scope == null) {
+                    // Releases the slot so that a scope on another thread can take it
+                    this.scopeOwner = null;
+                }
+                return;
+            }
             if (scope == null) {
-                this.scopes.remove(Thread.currentThread());
+                Map<Thread, CurrentTraceContext.Scope> scopes = this.scopes;
+                if (scopes != null) {
+                    scopes.remove(currentThread);
+                }
+                return;
             }
-            else {
-                this.scopes.put(Thread.currentThread(), scope);
+            if (this.scopeOwner == null && SCOPE_OWNER_UPDATER.compareAndSet(this, null, currentThread)) {
+                this.ownerScope = scope;
+                Map<Thread, CurrentTraceContext.Scope> scopes = this.scopes;
+                if (scopes != null) {
+                    // A thread must never have a scope in both places
+                    scopes.remove(currentThread);
+                }
+                return;
+            }
+            sharedScopes().put(currentThread, scope);
+        }
+
+        private Map<Thread, CurrentTraceContext.Scope> sharedScopes() {
+            Map<Thread, CurrentTraceContext.Scope> scopes = this.scopes;
+            if (scopes == null) {
+                synchronized (this) {
+                    scopes = this.scopes;
+                    if (scopes == null) {
+                        scopes = new ConcurrentHashMap<>();
+                        this.scopes = scopes;
+                    }
+                }
             }
+            return scopes;
         }
 
         /**
@@ -131,9 +131,10 @@ public final class EncodingUtils {
      * Returns the {@code long} value whose base16 representation is stored in the first
      * 16 chars of {@code chars} starting from the {@code offset}.
      * @param chars the base16 representation of the {@code long}
+     * @param offset the starting offset in the {@code CharSequence}
      * @return long from base16 string
      */
-    static long longFromBase16String(CharSequence chars, int offset) {
+    public static long longFromBase16String(CharSequence chars, int offset) {
         isTrue(chars.length() >= offset + LONG_BASE16, "chars too small");
         return (decodeByte(chars.charAt(offset), chars.charAt(offset + 1)) & 0xFFL) << 56
                 | (decodeByte(chars.charAt(offset + 2), chars.charAt(offset + 3)) & 0xFFL) << 48
@@ -166,8 +167,13 @@ public final class EncodingUtils {
     }
 
     private static byte decodeByte(char hi, char lo) {
-        isTrue(lo < ASCII_CHARACTERS && DECODING[lo] != -1, "invalid character " + lo);
-        isTrue(hi < ASCII_CHARACTERS && DECODING[hi] != -1, "invalid character " + hi);
+        // don't use isTrue here, the message would be built for every decoded byte
+        if (lo >= ASCII_CHARACTERS || DECODING[lo] == -1) {
+            throw new IllegalArgumentException("invalid character " + lo);
+        }
+        if (hi >= ASCII_CHARACTERS || DECODING[hi] == -1) {
+            throw new IllegalArgumentException("invalid character " + hi);
+        }
         int decoded = DECODING[hi] << 4 | DECODING[lo];
         return (byte) decoded;
     }
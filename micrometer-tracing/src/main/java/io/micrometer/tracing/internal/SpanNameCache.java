@@ -0,0 +1,116 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of span names converted with {@link SpanNameUtil#toLowerHyphen(String)}.
+ * Observation names, contextual names and {@code @NewSpan} method names form a small,
+ * static set, so the conversion is done once per name. Once {@link #maxSize()} names are
+ * cached new names are converted without being stored, so dynamic names cannot grow the
+ * cache without bounds.
+ *
+ * @since 1.2.0
+ */
+public final class SpanNameCache {
+
+    /**
+     * Default maximum number of cached names.
+     */
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private static final SpanNameCache DEFAULT = new SpanNameCache(DEFAULT_MAX_SIZE);
+
+    private final Map<String, String> lowerHyphenNames = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new instance of {@link SpanNameCache}.
+     * @param maxSize maximum number of cached names
+     */
+    public SpanNameCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the cache shared by the tracing handlers and the {@code @NewSpan} parser.
+     * @return shared cache
+     */
+    public static SpanNameCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Converts the name to a lower hyphen version, see
+     * {@link SpanNameUtil#toLowerHyphen(String)}.
+     * @param name name to change
+     * @return changed name
+     */
+    public String toLowerHyphen(String name) {
+        String converted = this.lowerHyphenNames.get(name);
+        if (converted != null) {
+            this.hits.increment();
+            return converted;
+        }
+        this.misses.increment();
+        converted = SpanNameUtil.toLowerHyphen(name);
+        if (this.lowerHyphenNames.size() < this.maxSize) {
+            this.lowerHyphenNames.putIfAbsent(name, converted);
+        }
+        return converted;
+    }
+
+    /**
+     * Returns the number of names served from the cache.
+     * @return number of hits
+     */
+    public long hitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of names that had to be converted.
+     * @return number of misses
+     */
+    public long missCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns the number of cached names.
+     * @return size of the cache
+     */
+    public int size() {
+        return this.lowerHyphenNames.size();
+    }
+
+    /**
+     * Returns the maximum number of cached names.
+     * @return maximum size of the cache
+     */
+    public int maxSize() {
+        return this.maxSize;
+    }
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.internal;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the hit, miss and size metrics of a {@link SpanNameCache} to a
+ * {@link MeterRegistry}.
+ *
+ * @since 1.2.0
+ */
+public class SpanNameCacheMetrics implements MeterBinder {
+
+    private final SpanNameCache cache;
+
+    private final Iterable<Tag> tags;
+
+    /**
+     * Creates metrics of the {@link SpanNameCache#getDefault() shared cache}.
+     */
+    public SpanNameCacheMetrics() {
+        this(SpanNameCache.getDefault(), Tags.empty());
+    }
+
+    /**
+     * Creates a new instance of {@link SpanNameCacheMetrics}.
+     * @param cache cache to monitor
+     * @param tags additional tags
+     */
+    public SpanNameCacheMetrics(SpanNameCache cache, Iterable<Tag> tags) {
+        this.cache = cache;
+        this.tags = tags;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tracing.span.name.cache.requests", this.cache, SpanNameCache::hitCount)
+            .tags(this.tags)
+            .tag("result", "hit")
+            .description("Number of span names served from the cache")
+            .register(registry);
+        FunctionCounter.builder("tracing.span.name.cache.requests", this.cache, SpanNameCache::missCount)
+            .tags(this.tags)
+            .tag("result", "miss")
+            .description("Number of span names that had to be converted")
+            .register(registry);
+        Gauge.builder("tracing.span.name.cache.size", this.cache, SpanNameCache::size)
+            .tags(this.tags)
+            .description("Number of cached span names")
+            .register(registry);
+    }
+
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.logging;
+
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.common.util.StringUtils;
+import io.micrometer.tracing.Baggage;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Correlates log events with the current {@link TraceContext} and the configured baggage
+ * fields. Unlike MDC based listeners that write into the MDC on every scope change, the
+ * values are read from the {@link Tracer} only when a log event is created ({@code log4j2})
+ * or formatted ({@code logback}), so switching scopes costs nothing for logging. The
+ * latter requires the event to be formatted on the logging thread.
+ * <p>
+ * Logging frameworks instantiate their extensions themselves, hence the correlation is
+ * registered globally via {@link #register(Tracer, String, String, List)} and read by
+ * the {@code logback} and {@code log4j2} integrations.
+ *
+ * @since 1.2.0
+ */
+public final class LogCorrelation {
+
+    /**
+     * Default key of the trace id.
+     */
+    public static final String DEFAULT_TRACE_ID_KEY = "traceId";
+
+    /**
+     * Default key of the span id.
+     */
+    public static final String DEFAULT_SPAN_ID_KEY = "spanId";
+
+    @Nullable
+    private static volatile LogCorrelation current;
+
+    private final Tracer tracer;
+
+    private final String traceIdKey;
+
+    private final String spanIdKey;
+
+    private final List<String> correlationFields;
+
+    private LogCorrelation(Tracer tracer, String traceIdKey, String spanIdKey, List<String> correlationFields) {
+        this.tracer = Objects.requireNonNull(tracer, "Tracer must not be null");
+        this.traceIdKey = traceIdKey;
+        this.spanIdKey = spanIdKey;
+        this.correlationFields = Collections.unmodifiableList(new ArrayList<>(correlationFields));
+    }
+
+    /**
+     * Registers the tracer used to correlate log events, with the default trace and span
+     * id keys and no baggage correlation fields.
+     * @param tracer tracer
+     */
+    public static void register(Tracer tracer) {
+        register(tracer, DEFAULT_TRACE_ID_KEY, DEFAULT_SPAN_ID_KEY, Collections.emptyList());
+    }
+
+    /**
+     * Registers the tracer used to correlate log events.
+     * @param tracer tracer
+     * @param traceIdKey key under which the trace id is exposed
+     * @param spanIdKey key under which the span id is exposed
+     * @param correlationFields names of the baggage entries to expose
+     */
+    public static void register(Tracer tracer, String traceIdKey, String spanIdKey, List<String> correlationFields) {
+        current = new LogCorrelation(tracer, traceIdKey, spanIdKey, correlationFields);
+    }
+
+    /**
+     * Removes the registered tracer, log events will not be correlated anymore.
+     */
+    public static void unregister() {
+        current = null;
+    }
+
+    /**
+     * Returns the registered correlation.
+     * @return registered correlation or {@code null} when there is none
+     */
+    @Nullable
+    public static LogCorrelation current() {
+        return current;
+    }
+
+    /**
+     * Returns the value of a correlation key for the current trace context.
+     * @param key trace id key, span id key or name of a correlation field
+     * @return value or {@code null} when there is no current trace context or value
+     */
+    @Nullable
+    public String get(String key) {
+        TraceContext context = this.tracer.currentTraceContext().context();
+        if (context == null) {
+            return null;
+        }
+        if (this.traceIdKey.equals(key)) {
+            return context.traceId();
+        }
+        if (this.spanIdKey.equals(key)) {
+            return context.spanId();
+        }
+        for (int i = 0; i < this.correlationFields.size(); i++) {
+            String field = this.correlationFields.get(i);
+            if (field.equalsIgnoreCase(key)) {
+                return baggageValue(field);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Passes all correlation values of the current trace context to the consumer.
+     * Nothing is passed when there is no current trace context.
+     * @param consumer consumer of the key and the value
+     */
+    public void forEach(BiConsumer<String, String> consumer) {
+        TraceContext context = this.tracer.currentTraceContext().context();
+        if (context == null) {
+            return;
+        }
+        consumer.accept(this.traceIdKey, context.traceId());
+        consumer.accept(this.spanIdKey, context.spanId());
+        for (int i = 0; i < this.correlationFields.size(); i++) {
+            String field = this.correlationFields.get(i);
+            String value = baggageValue(field);
+            if (value != null) {
+                consumer.accept(field, value);
+            }
+        }
+    }
+
+    @Nullable
+    private String baggageValue(String field) {
+        Baggage baggage = this.tracer.getBaggage(field);
+        if (baggage == null) {
+            return null;
+        }
+        String value = baggage.get();
+        return StringUtils.isNotBlank(value) ? value : null;
+    }
+
+}
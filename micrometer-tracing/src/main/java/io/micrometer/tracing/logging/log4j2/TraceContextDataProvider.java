@@ -0,0 +1,50 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.logging.log4j2;
+
+import io.micrometer.tracing.logging.LogCorrelation;
+import org.apache.logging.log4j.core.util.ContextDataProvider;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Log4j2 {@link ContextDataProvider} that adds the trace id, span id and correlation
+ * fields registered in {@link LogCorrelation} to the context data of a log event. Log4j2
+ * calls it only when a log event is created, on the logging thread, so no thread context
+ * entries need to be maintained on scope changes. The values are available under their
+ * keys, e.g. {@code %X{traceId}}.
+ * <p>
+ * The provider is registered via {@link java.util.ServiceLoader} and supplies nothing
+ * until a tracer is registered in {@link LogCorrelation}.
+ *
+ * @since 1.2.0
+ */
+public class TraceContextDataProvider implements ContextDataProvider {
+
+    @Override
+    public Map<String, String> supplyContextData() {
+        LogCorrelation correlation = LogCorrelation.current();
+        if (correlation == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> contextData = new HashMap<>(8);
+        correlation.forEach(contextData::put);
+        return contextData;
+    }
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.logging.logback;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.micrometer.tracing.logging.LogCorrelation;
+
+import java.util.Map;
+
+/**
+ * Logback converter that writes the trace id, span id and correlation fields registered
+ * in {@link LogCorrelation}. The values are read from the current trace context when the
+ * event is formatted, so no MDC entries need to be maintained on scope changes. Values
+ * already present in the MDC of the event take precedence.
+ * <p>
+ * Asynchronous appenders such as {@code AsyncAppender} are not supported on their own:
+ * they format the event on a worker thread, where the trace context of the logging thread
+ * is not current, so only the default value would be written. With asynchronous
+ * appenders keep the MDC based correlation (e.g. the {@code MDCScopeDecorator} of Brave
+ * or the {@code Slf4JEventListener} of OpenTelemetry), whose MDC entries are captured
+ * with the event on the logging thread and are then written by this converter.
+ * <p>
+ * Usage: {@code <conversionRule conversionWord="trace" converterClass=
+ * "io.micrometer.tracing.logging.logback.TraceContextConverter"/>} and
+ * {@code %trace{traceId}} in the pattern, optionally with a default value as in
+ * {@code %trace{traceId:-none}}. Without an option all correlation values are written.
+ *
+ * @since 1.2.0
+ */
+public class TraceContextConverter extends ClassicConverter {
+
+    private static final String DEFAULT_VALUE_DELIMITER = ":-";
+
+    private String key;
+
+    private String defaultValue = "";
+
+    @Override
+    public void start() {
+        String option = getFirstOption();
+        if (option != null) {
+            int delimiter = option.indexOf(DEFAULT_VALUE_DELIMITER);
+            if (delimiter >= 0) {
+                this.key = option.substring(0, delimiter);
+                this.defaultValue = option.substring(delimiter + DEFAULT_VALUE_DELIMITER.length());
+            }
+            else {
+                this.key = option;
+            }
+        }
+        super.start();
+    }
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        LogCorrelation correlation = LogCorrelation.current();
+        if (this.key == null) {
+            return allValues(mdc, correlation);
+        }
+        String value = mdc != null ? mdc.get(this.key) : null;
+        if (value == null && correlation != null) {
+            value = correlation.get(this.key);
+        }
+        return value != null ? value : this.defaultValue;
+    }
+
+    private String allValues(Map<String, String> mdc, LogCorrelation correlation) {
+        if (correlation == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder();
+        correlation.forEach((key, value) -> {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            String mdcValue = mdc != null ? mdc.get(key) : null;
+            builder.append(key).append('=').append(mdcValue != null ? mdcValue : value);
+        });
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,340 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.sampler;
+
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.tracing.SamplerFunction;
+import io.micrometer.tracing.http.HttpRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link SamplerFunction} that aims at a global target of sampled requests per second
+ * while sharing it fairly between endpoints, so that a single noisy endpoint can't starve
+ * the others of sampled traces.
+ * <p>
+ * Requests are grouped by HTTP method and route (the templated path). Requests without a
+ * route share the {@value #OTHER} budget, raw paths are never used since identifiers in
+ * them would create an unbounded number of groups. A route resolver can be passed to
+ * normalize such paths instead. Every group has its own budget made of a sampling
+ * probability and a per-second limit. Every adjustment interval the observed request
+ * rates are used to split the target between the groups: groups below their fair share
+ * keep sampling everything and what they leave is shared between the busier ones, whose
+ * probability is lowered accordingly. A global per-second limit caps the total in
+ * between adjustments.
+ * <p>
+ * The number of groups is bounded, requests of any further group share a single
+ * {@value #OTHER} budget. The probability and the sampled rate of every group can be
+ * exposed as gauges with {@link TargetThroughputHttpSamplerMetrics}.
+ * <p>
+ * With Brave use it via {@code BraveSamplerFunction.toHttpBrave(...)}, with
+ * OpenTelemetry pass it to the HTTP handlers, optionally behind a
+ * {@code SkipPatternSampler}.
+ *
+ * @since 1.2.0
+ */
+public class TargetThroughputHttpSampler implements SamplerFunction<HttpRequest> {
+
+    /**
+     * Method and route used for requests that can't get a budget of their own.
+     */
+    public static final String OTHER = "OTHER";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final Duration DEFAULT_ADJUSTMENT_INTERVAL = Duration.ofSeconds(5);
+
+    private static final int DEFAULT_MAX_KEYS = 200;
+
+    private final int targetPerSecond;
+
+    private final long adjustmentIntervalNanos;
+
+    private final int maxKeys;
+
+    private final Function<HttpRequest, String> routeResolver;
+
+    private final LongSupplier nanoTime;
+
+    private final List<BudgetListener> budgetListeners = new CopyOnWriteArrayList<>();
+
+    private final RateLimit globalLimit;
+
+    private final ConcurrentMap<String, ConcurrentMap<String, Budget>> budgets = new ConcurrentHashMap<>();
+
+    private final AtomicInteger keyCount = new AtomicInteger();
+
+    private final Budget otherBudget;
+
+    private final AtomicLong nextAdjustment;
+
+    private long lastAdjustment;
+
+    /**
+     * Creates a new instance of {@link TargetThroughputHttpSampler}.
+     * @param targetPerSecond target number of sampled requests per second
+     */
+    public TargetThroughputHttpSampler(int targetPerSecond) {
+        this(targetPerSecond, DEFAULT_ADJUSTMENT_INTERVAL, DEFAULT_MAX_KEYS);
+    }
+
+    /**
+     * Creates a new instance of {@link TargetThroughputHttpSampler}.
+     * @param targetPerSecond target number of sampled requests per second
+     * @param adjustmentInterval how often budgets are recalculated
+     * @param maxKeys maximum number of method and route groups with a budget of their own
+     */
+    public TargetThroughputHttpSampler(int targetPerSecond, Duration adjustmentInterval, int maxKeys) {
+        this(targetPerSecond, adjustmentInterval, maxKeys, HttpRequest::route);
+    }
+
+    /**
+     * Creates a new instance of {@link TargetThroughputHttpSampler}.
+     * @param targetPerSecond target number of sampled requests per second
+     * @param adjustmentInterval how often budgets are recalculated
+     * @param maxKeys maximum number of method and route groups with a budget of their own
+     * @param routeResolver resolves the low cardinality route of a request, e.g. by
+     * normalizing its path; requests it returns {@code null} for share the
+     * {@value #OTHER} budget
+     */
+    public TargetThroughputHttpSampler(int targetPerSecond, Duration adjustmentInterval, int maxKeys,
+            Function<HttpRequest, String> routeResolver) {
+        this(targetPerSecond, adjustmentInterval, maxKeys, routeResolver, System::nanoTime);
+    }
+
+    TargetThroughputHttpSampler(int targetPerSecond, Duration adjustmentInterval, int maxKeys,
+            Function<HttpRequest, String> routeResolver, LongSupplier nanoTime) {
+        if (targetPerSecond < 0) {
+            throw new IllegalArgumentException("targetPerSecond must not be negative but was " + targetPerSecond);
+        }
+        if (adjustmentInterval.isNegative() || adjustmentInterval.isZero()) {
+            throw new IllegalArgumentException("adjustmentInterval must be positive but was " + adjustmentInterval);
+        }
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("maxKeys must be at least 1 but was " + maxKeys);
+        }
+        this.targetPerSecond = targetPerSecond;
+        this.adjustmentIntervalNanos = adjustmentInterval.toNanos();
+        this.maxKeys = maxKeys;
+        this.routeResolver = Objects.requireNonNull(routeResolver, "routeResolver must not be null");
+        this.nanoTime = nanoTime;
+        long now = nanoTime.getAsLong();
+        this.globalLimit = new RateLimit(targetPerSecond, now);
+        this.otherBudget = new Budget(OTHER, OTHER, targetPerSecond, now);
+        this.lastAdjustment = now;
+        this.nextAdjustment = new AtomicLong(now + this.adjustmentIntervalNanos);
+    }
+
+    @Override
+    @Nullable
+    public Boolean trySample(@Nullable HttpRequest request) {
+        if (request == null) {
+            return null;
+        }
+        long now = this.nanoTime.getAsLong();
+        maybeAdjust(now);
+        Budget budget = budget(request, now);
+        budget.requests.increment();
+        if (!budget.tryAcquire(now)) {
+            return false;
+        }
+        if (!this.globalLimit.tryAcquire(now)) {
+            // a route must not use up its budget on requests that are not sampled
+            budget.limit.release();
+            return false;
+        }
+        budget.sampled.increment();
+        return true;
+    }
+
+    /**
+     * Registers a listener notified of every budget, including the ones created so far.
+     * @param budgetListener listener
+     */
+    void addBudgetListener(BudgetListener budgetListener) {
+        this.budgetListeners.add(budgetListener);
+        budgetListener.budgetCreated(this.otherBudget);
+        this.budgets.values().forEach(routes -> routes.values().forEach(budgetListener::budgetCreated));
+    }
+
+    private Budget budget(HttpRequest request, long now) {
+        String route = this.routeResolver.apply(request);
+        if (route == null) {
+            return this.otherBudget;
+        }
+        String method = request.method() != null ? request.method() : OTHER;
+        ConcurrentMap<String, Budget> routes = this.budgets.get(method);
+        if (routes != null) {
+            Budget budget = routes.get(route);
+            if (budget != null) {
+                return budget;
+            }
+        }
+        if (this.keyCount.get() >= this.maxKeys) {
+            return this.otherBudget;
+        }
+        String budgetMethod = method;
+        Budget budget = this.budgets.computeIfAbsent(method, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(route, key -> {
+                if (this.keyCount.incrementAndGet() > this.maxKeys) {
+                    this.keyCount.decrementAndGet();
+                    return null;
+                }
+                return newBudget(budgetMethod, key, now);
+            });
+        return budget != null ? budget : this.otherBudget;
+    }
+
+    private Budget newBudget(String method, String route, long now) {
+        Budget budget = new Budget(method, route, this.targetPerSecond, now);
+        for (BudgetListener budgetListener : this.budgetListeners) {
+            budgetListener.budgetCreated(budget);
+        }
+        return budget;
+    }
+
+    private void maybeAdjust(long now) {
+        long adjustAt = this.nextAdjustment.get();
+        if (now - adjustAt < 0 || !this.nextAdjustment.compareAndSet(adjustAt, now + this.adjustmentIntervalNanos)) {
+            return;
+        }
+        adjust(now);
+    }
+
+    /**
+     * Splits the target between all the budgets, using max-min fairness on the request
+     * rates observed since the last adjustment. Only the thread that won the race on
+     * {@link #nextAdjustment} gets here, synchronization only publishes
+     * {@link #lastAdjustment} to the next winner.
+     */
+    private synchronized void adjust(long now) {
+        double elapsedSeconds = Math.max(now - this.lastAdjustment, 1L) / (double) NANOS_PER_SECOND;
+        this.lastAdjustment = now;
+        List<Budget> all = new ArrayList<>(this.keyCount.get() + 1);
+        this.budgets.values().forEach(routes -> all.addAll(routes.values()));
+        all.add(this.otherBudget);
+        for (Budget budget : all) {
+            budget.observedRate = budget.requests.sumThenReset() / elapsedSeconds;
+            budget.sampledRate = budget.sampled.sumThenReset() / elapsedSeconds;
+        }
+        all.sort(Comparator.comparingDouble(budget -> budget.observedRate));
+        double remaining = this.targetPerSecond;
+        int left = all.size();
+        for (Budget budget : all) {
+            double share = remaining / left--;
+            double allocated = Math.min(budget.observedRate, share);
+            remaining -= allocated;
+            budget.update(allocated, share);
+        }
+    }
+
+    /**
+     * Sampling budget of a single method and route group.
+     */
+    static final class Budget {
+
+        final String method;
+
+        final String route;
+
+        final LongAdder requests = new LongAdder();
+
+        final LongAdder sampled = new LongAdder();
+
+        final RateLimit limit;
+
+        volatile double probability = 1.0;
+
+        // Only accessed while adjusting, published through the volatile fields
+        double observedRate;
+
+        volatile double sampledRate;
+
+        Budget(String method, String route, int perSecond, long now) {
+            this.method = method;
+            this.route = route;
+            this.limit = new RateLimit(perSecond, now);
+        }
+
+        boolean tryAcquire(long now) {
+            double probability = this.probability;
+            if (probability < 1.0 && ThreadLocalRandom.current().nextDouble() >= probability) {
+                return false;
+            }
+            return this.limit.tryAcquire(now);
+        }
+
+        void update(double allocatedRate, double fairShare) {
+            this.probability = this.observedRate <= allocatedRate ? 1.0 : allocatedRate / this.observedRate;
+            this.limit.perSecond = (int) Math.max(1, Math.ceil(fairShare));
+        }
+
+    }
+
+    /**
+     * Notified when the budget of a group is created.
+     */
+    interface BudgetListener {
+
+        void budgetCreated(Budget budget);
+
+    }
+
+    /**
+     * Lock-free limit of acquisitions per second, reset every second.
+     */
+    static final class RateLimit {
+
+        volatile int perSecond;
+
+        private final AtomicInteger usage = new AtomicInteger();
+
+        private final AtomicLong nextReset;
+
+        RateLimit(int perSecond, long now) {
+            this.perSecond = perSecond;
+            this.nextReset = new AtomicLong(now + NANOS_PER_SECOND);
+        }
+
+        boolean tryAcquire(long now) {
+            long resetAt = this.nextReset.get();
+            if (now - resetAt >= 0 && this.nextReset.compareAndSet(resetAt, now + NANOS_PER_SECOND)) {
+                this.usage.set(0);
+            }
+            return this.usage.incrementAndGet() <= this.perSecond;
+        }
+
+        void release() {
+            this.usage.updateAndGet(usage -> usage > 0 ? usage - 1 : 0);
+        }
+
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.sampler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the sampling probability and the sampled rate of every method and route group of
+ * a {@link TargetThroughputHttpSampler} to a {@link MeterRegistry}, including the groups
+ * created after binding. Kept apart from the sampler so that micrometer-core remains
+ * optional.
+ *
+ * @since 1.2.0
+ */
+public class TargetThroughputHttpSamplerMetrics implements MeterBinder {
+
+    private final TargetThroughputHttpSampler sampler;
+
+    private final Iterable<Tag> tags;
+
+    /**
+     * Creates a new instance of {@link TargetThroughputHttpSamplerMetrics}.
+     * @param sampler sampler to monitor
+     */
+    public TargetThroughputHttpSamplerMetrics(TargetThroughputHttpSampler sampler) {
+        this(sampler, Tags.empty());
+    }
+
+    /**
+     * Creates a new instance of {@link TargetThroughputHttpSamplerMetrics}.
+     * @param sampler sampler to monitor
+     * @param tags additional tags
+     */
+    public TargetThroughputHttpSamplerMetrics(TargetThroughputHttpSampler sampler, Iterable<Tag> tags) {
+        this.sampler = sampler;
+        this.tags = tags;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.sampler.addBudgetListener(budget -> {
+            Gauge.builder("tracing.sampler.probability", budget, b -> b.probability)
+                .tags(this.tags)
+                .description("Probability of sampling a request of the given method and route")
+                .tag("method", budget.method)
+                .tag("route", budget.route)
+                .register(registry);
+            Gauge.builder("tracing.sampler.sampled", budget, b -> b.sampledRate)
+                .tags(this.tags)
+                .description("Number of sampled requests per second of the given method and route")
+                .baseUnit("requests")
+                .tag("method", budget.method)
+                .tag("route", budget.route)
+                .register(registry);
+        });
+    }
+
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.sampler;
+
+import io.micrometer.common.lang.Nullable;
+import io.micrometer.tracing.SamplerFunction;
+import io.micrometer.tracing.internal.EncodingUtils;
+
+/**
+ * Deterministic {@link SamplerFunction} that samples a given ratio of traces based purely
+ * on the trace id. Every service that uses the same ratio makes the same decision for the
+ * same trace, regardless of the tracer bridge, so no sampling state has to be propagated
+ * between them.
+ * <p>
+ * The decision is taken on the lower 64 bits of the trace id in the same way as in the
+ * OpenTelemetry SDK {@code TraceIdRatioBased} sampler: a trace is sampled when the
+ * absolute value of those bits is lower than {@code ratio * Long.MAX_VALUE}. Decisions
+ * are stateless and require no synchronization.
+ *
+ * @since 1.2.0
+ */
+public final class TraceIdRatioBasedSamplerFunction implements SamplerFunction<String> {
+
+    private static final int LOW_TRACE_ID_LENGTH = 16;
+
+    private final double ratio;
+
+    private final long idUpperBound;
+
+    private TraceIdRatioBasedSamplerFunction(double ratio) {
+        this.ratio = ratio;
+        this.idUpperBound = idUpperBound(ratio);
+    }
+
+    /**
+     * Creates a new {@link TraceIdRatioBasedSamplerFunction}.
+     * @param ratio ratio of traces to sample, between {@code 0} and {@code 1}
+     * @return sampler function
+     */
+    public static TraceIdRatioBasedSamplerFunction create(double ratio) {
+        if (ratio < 0.0 || ratio > 1.0) {
+            throw new IllegalArgumentException("ratio must be in range [0.0, 1.0] but was [" + ratio + "]");
+        }
+        return new TraceIdRatioBasedSamplerFunction(ratio);
+    }
+
+    private static long idUpperBound(double ratio) {
+        if (ratio == 0.0) {
+            return Long.MIN_VALUE;
+        }
+        else if (ratio == 1.0) {
+            return Long.MAX_VALUE;
+        }
+        return (long) (ratio * Long.MAX_VALUE);
+    }
+
+    /**
+     * Returns the sampling decision for the given trace id.
+     * @param traceIdLow lower 64 bits of the trace id
+     * @return {@code true} to sample the trace
+     */
+    public boolean isSampled(long traceIdLow) {
+        return Math.abs(traceIdLow) < this.idUpperBound;
+    }
+
+    /**
+     * Returns the sampling decision for the given trace id.
+     * @param traceId hex encoded 64 or 128 bit trace id. {@code null} or malformed input
+     * results in a {@code null} result
+     * @return {@code true} to sample the trace or {@code false} to deny. {@code null}
+     * defers the decision.
+     */
+    @Nullable
+    @Override
+    public Boolean trySample(@Nullable String traceId) {
+        if (traceId == null || traceId.length() < LOW_TRACE_ID_LENGTH) {
+            return null;
+        }
+        try {
+            return isSampled(EncodingUtils.longFromBase16String(traceId, traceId.length() - LOW_TRACE_ID_LENGTH));
+        }
+        catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the ratio of traces to sample.
+     * @return ratio between {@code 0} and {@code 1}
+     */
+    public double getRatio() {
+        return this.ratio;
+    }
+
+    @Override
+    public String toString() {
+        return "TraceIdRatioBased{" + this.ratio + '}';
+    }
+
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class ThreadLocalSpanTests {
+
+    Tracer tracer = BDDMockito.mock(Tracer.class);
+
+    ThreadLocalSpan threadLocalSpan = new ThreadLocalSpan(this.tracer);
+
+    @Test
+    void should_bring_back_previous_span_on_remove() {
+        Tracer.SpanInScope parentScope = BDDMockito.mock(Tracer.SpanInScope.class);
+        Tracer.SpanInScope childScope = BDDMockito.mock(Tracer.SpanInScope.class);
+        Span parent = BDDMockito.mock(Span.class);
+        Span child = BDDMockito.mock(Span.class);
+        BDDMockito.given(this.tracer.withSpan(parent)).willReturn(parentScope);
+        BDDMockito.given(this.tracer.withSpan(child)).willReturn(childScope);
+
+        this.threadLocalSpan.set(parent);
+        this.threadLocalSpan.set(child);
+
+        then(this.threadLocalSpan.get().getSpan()).isSameAs(child);
+
+        then(this.threadLocalSpan.remove().getSpan()).isSameAs(child);
+        BDDMockito.then(childScope).should().close();
+        then(this.threadLocalSpan.get().getSpan()).isSameAs(parent);
+
+        then(this.threadLocalSpan.remove().getSpan()).isSameAs(parent);
+        BDDMockito.then(parentScope).should().close();
+        then(this.threadLocalSpan.get()).isNull();
+        then(this.threadLocalSpan.remove()).isNull();
+    }
+
+    @Test
+    void should_keep_spans_per_thread() throws InterruptedException {
+        Span span = BDDMockito.mock(Span.class);
+        this.threadLocalSpan.set(span);
+        AtomicReference<SpanAndScope> fromOtherThread = new AtomicReference<>(new SpanAndScope(span, null));
+
+        Thread thread = new Thread(() -> fromOtherThread.set(this.threadLocalSpan.get()));
+        thread.start();
+        thread.join();
+
+        then(fromOtherThread.get()).isNull();
+        then(this.threadLocalSpan.remove().getSpan()).isSameAs(span);
+    }
+
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.annotation;
+
+import io.micrometer.common.annotation.ValueExpressionResolver;
+import io.micrometer.common.annotation.ValueResolver;
+import io.micrometer.tracing.CurrentTraceContext;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.SpanCustomizer;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.contextpropagation.ObservationAwareSpanThreadLocalAccessor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AsyncMethodInvocationProcessorTests {
+
+    Tracer tracer = mock(Tracer.class);
+
+    Span span = mock(Span.class);
+
+    AsyncMethodInvocationProcessor processor;
+
+    @BeforeEach
+    void setup() {
+        given(tracer.currentTraceContext()).willReturn(mock(CurrentTraceContext.class));
+        given(tracer.nextSpan()).willReturn(span);
+        given(tracer.withSpan(span)).willReturn(mock(Tracer.SpanInScope.class));
+        given(tracer.currentSpanCustomizer()).willReturn(mock(SpanCustomizer.class));
+        given(span.start()).willReturn(span);
+        processor = new AsyncMethodInvocationProcessor(new DefaultNewSpanParser(), tracer,
+                aClass -> mock(ValueResolver.class), aClass -> mock(ValueExpressionResolver.class));
+    }
+
+    @Test
+    void shouldEndSpanWhenCompletionStageCompletes() throws Throwable {
+        CompletableFuture<String> future = new CompletableFuture<>();
+
+        Object result = processor.process(invocation("future", future), newSpan("future"), null);
+
+        then(result).isSameAs(future);
+        verify(span).name("future");
+        verify(span, never()).end();
+
+        future.complete("done");
+
+        verify(span).end();
+    }
+
+    @Test
+    void shouldRecordErrorWhenCompletionStageFails() throws Throwable {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        processor.process(invocation("future", future), newSpan("future"), null);
+        IllegalStateException error = new IllegalStateException("boom");
+
+        future.completeExceptionally(error);
+
+        verify(span).error(error);
+        verify(span).end();
+    }
+
+    @Test
+    void shouldEndSpanWhenMonoTerminates() throws Throwable {
+        Sinks.One<String> sink = Sinks.one();
+
+        Mono<?> result = (Mono<?>) processor.process(invocation("mono", sink.asMono()), newSpan("mono"), null);
+        result.subscribe();
+
+        verify(span, never()).end();
+
+        sink.tryEmitValue("done");
+
+        verify(span).end();
+    }
+
+    @Test
+    void shouldWriteSpanIntoReactorContext() throws Throwable {
+        Mono<Object> pipeline = Mono
+            .deferContextual(context -> Mono.just(context.get(ObservationAwareSpanThreadLocalAccessor.KEY)));
+
+        Mono<?> result = (Mono<?>) processor.process(invocation("mono", pipeline), newSpan("mono"), null);
+
+        then(result.block()).isSameAs(span);
+    }
+
+    @Test
+    void shouldEndSpanOnceWhenFluxIsCancelled() throws Throwable {
+        Flux<?> result = (Flux<?>) processor.process(invocation("flux", Flux.never()), newSpan("flux"), null);
+
+        result.subscribe().dispose();
+
+        verify(span, times(1)).end();
+    }
+
+    @Test
+    void shouldEndSpanWhenMethodThrows() throws Throwable {
+        MethodInvocation invocation = invocation("future", null);
+        IllegalStateException error = new IllegalStateException("boom");
+        given(invocation.proceed()).willThrow(error);
+
+        thenThrownBy(() -> processor.process(invocation, newSpan("future"), null)).isSameAs(error);
+
+        verify(span).error(error);
+        verify(span).end();
+    }
+
+    @Test
+    void shouldEndSpanRightAwayForOtherResults() throws Throwable {
+        processor.process(invocation("plain", "value"), newSpan("plain"), null);
+
+        verify(span).end();
+        verify(span, never()).error(any());
+    }
+
+    private MethodInvocation invocation(String methodName, Object result) throws Throwable {
+        Method method = Service.class.getMethod(methodName);
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        given(invocation.getMethod()).willReturn(method);
+        given(invocation.proceed()).willReturn(result);
+        return invocation;
+    }
+
+    private NewSpan newSpan(String methodName) throws NoSuchMethodException {
+        return Service.class.getMethod(methodName).getAnnotation(NewSpan.class);
+    }
+
+    static class Service {
+
+        @NewSpan
+        public CompletableFuture<String> future() {
+            return null;
+        }
+
+        @NewSpan
+        public Mono<String> mono() {
+            return null;
+        }
+
+        @NewSpan
+        public Flux<String> flux() {
+            return null;
+        }
+
+        @NewSpan
+        public String plain() {
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.annotation;
+
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class MethodMetadataTests {
+
+    @Test
+    void shouldResolveMetadataOfAnnotatedMethod() throws Exception {
+        Method method = Bean.class.getMethod("greet", String.class, String.class);
+        NewSpan newSpan = method.getAnnotation(NewSpan.class);
+        ContinueSpan continueSpan = method.getAnnotation(ContinueSpan.class);
+
+        MethodMetadata metadata = MethodMetadata.of(invocation(method, new Bean()), newSpan, continueSpan);
+
+        then(metadata.spanName).isEqualTo("custom-name");
+        then(metadata.classTag).isEqualTo("Bean");
+        then(metadata.methodTag).isEqualTo("greet");
+        then(metadata.hasLog).isTrue();
+        then(metadata.beforeEvent).isEqualTo("greeting.before");
+        then(metadata.afterEvent).isEqualTo("greeting.after");
+        then(metadata.afterFailureEvent).isEqualTo("greeting.afterFailure");
+        then(metadata.tagParameterIndexes).containsExactly(0, 1);
+        then(metadata.tagAnnotations).extracting(SpanTag::value).containsExactly("implName", "interfaceSurname");
+    }
+
+    @Test
+    void shouldMatchInvocationsOfTheSameMethodAndClasses() throws Exception {
+        Method method = Bean.class.getMethod("greet", String.class, String.class);
+        NewSpan newSpan = method.getAnnotation(NewSpan.class);
+        ContinueSpan continueSpan = method.getAnnotation(ContinueSpan.class);
+
+        MethodMetadata metadata = MethodMetadata.of(invocation(method, new Bean()), newSpan, continueSpan);
+
+        then(metadata.matches(invocation(method, new Bean()), method.getAnnotation(NewSpan.class),
+                method.getAnnotation(ContinueSpan.class)))
+            .isTrue();
+        then(metadata.matches(invocation(method, new OtherBean()), newSpan, continueSpan)).isFalse();
+        then(metadata.matches(invocation(method, new Bean()), null, continueSpan)).isFalse();
+    }
+
+    @Test
+    void shouldPreferSpanTagOfImplementationOverTheOneOfInterface() throws Exception {
+        Method method = OverridingBean.class.getMethod("greet", String.class, String.class);
+
+        MethodMetadata metadata = MethodMetadata.of(invocation(method, new OverridingBean()), null, null);
+
+        then(metadata.tagParameterIndexes).containsExactly(0, 1);
+        then(metadata.tagAnnotations).extracting(SpanTag::value).containsExactly("overridingName", "overridingSurname");
+    }
+
+    @Test
+    void shouldKeepMetadataOfInheritedMethodPerTargetClass() throws Exception {
+        Method method = Bean.class.getMethod("greet", String.class, String.class);
+        NewSpan newSpan = method.getAnnotation(NewSpan.class);
+        ContinueSpan continueSpan = method.getAnnotation(ContinueSpan.class);
+        ImperativeMethodInvocationProcessor processor = new ImperativeMethodInvocationProcessor(
+                new DefaultNewSpanParser(), mock(Tracer.class), aClass -> null, aClass -> null);
+
+        MethodMetadata bean = processor.metadata(invocation(method, new Bean()), newSpan, continueSpan);
+        MethodMetadata otherBean = processor.metadata(invocation(method, new OtherBean()), newSpan, continueSpan);
+
+        then(otherBean).isNotSameAs(bean);
+        then(otherBean.classTag).isEqualTo("OtherBean");
+        then(processor.metadata(invocation(method, new Bean()), newSpan, continueSpan)).isSameAs(bean);
+        then(processor.metadata(invocation(method, new OtherBean()), newSpan, continueSpan)).isSameAs(otherBean);
+    }
+
+    private SpanAspectMethodInvocation invocation(Method method, Object target) {
+        ProceedingJoinPoint pjp = mock(ProceedingJoinPoint.class);
+        given(pjp.getThis()).willReturn(target);
+        given(pjp.getTarget()).willReturn(target);
+        return new SpanAspectMethodInvocation(pjp, method);
+    }
+
+    interface Greeter {
+
+        String greet(String name, @SpanTag("interfaceSurname") String surname);
+
+    }
+
+    static class Bean implements Greeter {
+
+        @Override
+        @NewSpan("customName")
+        @ContinueSpan(log = "greeting")
+        public String greet(@SpanTag("implName") String name, String surname) {
+            return name + " " + surname;
+        }
+
+    }
+
+    static class OtherBean extends Bean {
+
+    }
+
+    static class OverridingBean implements Greeter {
+
+        @Override
+        public String greet(@SpanTag("overridingName") String name, @SpanTag("overridingSurname") String surname) {
+            return name + " " + surname;
+        }
+
+    }
+
+}
@@ -15,6 +15,7 @@
  */
 package io.micrometer.tracing.exporter;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 import org.junit.jupiter.api.Test;
@@ -48,20 +49,81 @@ class SpanIgnoringSpanExportingPredicateTests {
 
     @Test
     void should_use_cached_entry_for_same_patterns() {
-        export(handler("someOtherName"));
-        export(handler("someOtherName"));
-        export(handler("someOtherName"));
+        export(handler("someOtherName.*"));
+        export(handler("someOtherName.*"));
+        export(handler("someOtherName.*"));
 
-        then(SpanIgnoringSpanExportingPredicate.cache).containsKey("someOtherName");
+        then(SpanIgnoringSpanExportingPredicate.cache).containsKey("someOtherName.*");
 
-        export(handler("a"));
-        export(handler("b"));
-        export(handler("c"));
+        export(handler("a.*"));
+        export(handler("b.*"));
+        export(handler("c.*"));
 
-        then(SpanIgnoringSpanExportingPredicate.cache).containsKey("someOtherName")
-            .containsKey("a")
-            .containsKey("b")
-            .containsKey("c");
+        then(SpanIgnoringSpanExportingPredicate.cache).containsKey("someOtherName.*")
+            .containsKey("a.*")
+            .containsKey("b.*")
+            .containsKey("c.*");
+    }
+
+    @Test
+    void should_match_exact_names_and_patterns_from_both_lists() {
+        SpanIgnoringSpanExportingPredicate handler = new SpanIgnoringSpanExportingPredicate(
+                Arrays.asList("exact", "get /health.*"), Arrays.asList("(?i)actuator", "static-\\d+"));
+
+        then(handler.isExportable(span("exact"))).isFalse();
+        then(handler.isExportable(span("exactly"))).isTrue();
+        then(handler.isExportable(span("get /health/liveness"))).isFalse();
+        then(handler.isExportable(span("ACTUATOR"))).isFalse();
+        then(handler.isExportable(span("static-12"))).isFalse();
+        then(handler.isExportable(span("static-ab"))).isTrue();
+        // memoized decisions must not change the outcome
+        then(handler.isExportable(span("static-12"))).isFalse();
+        then(handler.isExportable(span("static-ab"))).isTrue();
+    }
+
+    @Test
+    void should_keep_back_references_working() {
+        SpanIgnoringSpanExportingPredicate handler = new SpanIgnoringSpanExportingPredicate(
+                Collections.singletonList("(a)\\1"), Collections.singletonList("(b)\\1"));
+
+        then(handler.isExportable(span("aa"))).isFalse();
+        then(handler.isExportable(span("bb"))).isFalse();
+        then(handler.isExportable(span("ab"))).isTrue();
+    }
+
+    @Test
+    void should_allow_the_same_named_group_in_several_patterns() {
+        SpanIgnoringSpanExportingPredicate handler = new SpanIgnoringSpanExportingPredicate(
+                Collections.singletonList("(?<verb>get) .*"), Collections.singletonList("(?<verb>post) /static"));
+
+        then(handler.isExportable(span("get /health"))).isFalse();
+        then(handler.isExportable(span("post /static"))).isFalse();
+        then(handler.isExportable(span("post /users"))).isTrue();
+    }
+
+    @Test
+    void should_not_let_an_unterminated_quote_swallow_other_patterns() {
+        SpanIgnoringSpanExportingPredicate handler = new SpanIgnoringSpanExportingPredicate(
+                Collections.singletonList("\\Qhealth.*"), Collections.singletonList("static.*"));
+
+        then(handler.isExportable(span("health.*"))).isFalse();
+        then(handler.isExportable(span("healthy"))).isTrue();
+        then(handler.isExportable(span("static-12"))).isFalse();
+    }
+
+    @Test
+    void should_export_spans_without_a_name() {
+        SpanIgnoringSpanExportingPredicate handler = new SpanIgnoringSpanExportingPredicate(
+                Collections.singletonList(".*"), Collections.emptyList());
+
+        then(handler.isExportable(span(null))).isTrue();
+        then(handler.isExportable(span("anything"))).isFalse();
+    }
+
+    private FinishedSpan span(String name) {
+        FinishedSpan span = BDDMockito.mock(FinishedSpan.class);
+        BDDMockito.given(span.getName()).willReturn(name);
+        return span;
     }
 
     private void export(SpanIgnoringSpanExportingPredicate handler) {
@@ -15,6 +15,7 @@
  */
 package io.micrometer.tracing.handler;
 
+import io.micrometer.common.KeyValues;
 import io.micrometer.observation.Observation;
 import io.micrometer.tracing.CurrentTraceContext;
 import io.micrometer.tracing.Span;
@@ -24,11 +25,16 @@ import org.junit.jupiter.api.Test;
 import org.mockito.BDDMockito;
 import org.mockito.InOrder;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.BDDAssertions.thenNoException;
 import static org.assertj.core.api.BDDAssertions.thenThrownBy;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 
 class TracingObservationHandlerTests {
@@ -71,6 +77,20 @@ class TracingObservationHandlerTests {
         BDDMockito.then(currentTraceContext).should().maybeScope(null);
     }
 
+    @Test
+    void currentSpanShouldNotBeLookedUpWhenParentSpanComesFromTracingContext() {
+        TracingObservationHandler<Observation.Context> handler = () -> tracer;
+        Span span = mock(Span.class);
+        Observation.Context context = new Observation.Context();
+        TracingObservationHandler.TracingContext tracingContext = new TracingObservationHandler.TracingContext();
+        tracingContext.setSpan(span);
+        context.put(TracingObservationHandler.TracingContext.class, tracingContext);
+
+        assertThat(handler.getParentSpan(context)).isSameAs(span);
+        assertThat(handler.getParentSpan(new Observation.Context())).isNull();
+        BDDMockito.then(tracer).should(BDDMockito.never()).currentSpan();
+    }
+
     @Test
     void nullScopeShouldBeSupported() {
         TracingObservationHandler<Observation.Context> handler = () -> null;
@@ -92,4 +112,108 @@ class TracingObservationHandlerTests {
         assertThat(tracingContext.getSpan()).isSameAs(span);
     }
 
+    @Test
+    void scopesShouldBeTrackedPerThread() throws Exception {
+        TracingObservationHandler.TracingContext tracingContext = new TracingObservationHandler.TracingContext();
+        CurrentTraceContext.Scope mainScope = mock(CurrentTraceContext.Scope.class);
+        CurrentTraceContext.Scope otherScope = mock(CurrentTraceContext.Scope.class);
+        CurrentTraceContext.Scope nestedOtherScope = mock(CurrentTraceContext.Scope.class);
+        AtomicReference<CurrentTraceContext.Scope> seenOnOtherThread = new AtomicReference<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            tracingContext.setScope(mainScope);
+            executor.submit(() -> {
+                tracingContext.setScope(otherScope);
+                tracingContext.setScope(nestedOtherScope);
+                seenOnOtherThread.set(tracingContext.getScope());
+                tracingContext.setScope(otherScope);
+            }).get();
+
+            assertThat(seenOnOtherThread.get()).isSameAs(nestedOtherScope);
+            assertThat(tracingContext.getScope()).isSameAs(mainScope);
+
+            tracingContext.setScope(null);
+
+            assertThat(tracingContext.getScope()).isNull();
+            executor.submit(() -> seenOnOtherThread.set(tracingContext.getScope())).get();
+            assertThat(seenOnOtherThread.get()).isSameAs(otherScope);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void scopeOnOtherThreadShouldNotBeLeftBehindWhenItTakesOverTheOwnerSlot() throws Exception {
+        TracingObservationHandler.TracingContext tracingContext = new TracingObservationHandler.TracingContext();
+        CurrentTraceContext.Scope mainScope = mock(CurrentTraceContext.Scope.class);
+        CurrentTraceContext.Scope otherScope = mock(CurrentTraceContext.Scope.class);
+        CurrentTraceContext.Scope nestedOtherScope = mock(CurrentTraceContext.Scope.class);
+        AtomicReference<CurrentTraceContext.Scope> seenOnOtherThread = new AtomicReference<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            tracingContext.setScope(mainScope);
+            executor.submit(() -> tracingContext.setScope(otherScope)).get();
+            tracingContext.setScope(null);
+
+            executor.submit(() -> {
+                tracingContext.setScope(nestedOtherScope);
+                tracingContext.setScope(otherScope);
+                tracingContext.setScope(null);
+                seenOnOtherThread.set(tracingContext.getScope());
+            }).get();
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        assertThat(seenOnOtherThread.get()).isNull();
+    }
+
+    @Test
+    void allKeyValuesShouldBeTaggedInBulk() {
+        Span span = mock(Span.class);
+        Observation.Context context = new Observation.Context();
+        context.addLowCardinalityKeyValue(io.micrometer.common.KeyValue.of("low", "1"));
+        context.addHighCardinalityKeyValue(io.micrometer.common.KeyValue.of("high", "2"));
+        TracingObservationHandler<Observation.Context> handler = () -> tracer;
+
+        handler.tagSpan(context, span);
+
+        BDDMockito.then(span).should().tagAll(KeyValues.of("low", "1"));
+        BDDMockito.then(span).should().tagAll(KeyValues.of("high", "2"));
+        BDDMockito.then(span).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    void highCardinalityKeyValueShouldWinOverLowCardinalityOne() {
+        Span span = mock(Span.class);
+        Observation.Context context = new Observation.Context();
+        context.addLowCardinalityKeyValue(io.micrometer.common.KeyValue.of("foo", "low"));
+        context.addHighCardinalityKeyValue(io.micrometer.common.KeyValue.of("foo", "high"));
+        TracingObservationHandler<Observation.Context> handler = () -> tracer;
+
+        handler.tagSpan(context, span);
+
+        InOrder inOrder = inOrder(span);
+        inOrder.verify(span).tagAll(KeyValues.of("foo", "low"));
+        inOrder.verify(span).tagAll(KeyValues.of("foo", "high"));
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void errorKeyValueShouldBeSetAsError() {
+        Span span = mock(Span.class);
+        Observation.Context context = new Observation.Context();
+        context.addLowCardinalityKeyValue(io.micrometer.common.KeyValue.of("low", "1"));
+        context.addHighCardinalityKeyValue(io.micrometer.common.KeyValue.of("error", "boom"));
+        TracingObservationHandler<Observation.Context> handler = () -> tracer;
+
+        handler.tagSpan(context, span);
+
+        BDDMockito.then(span).should().tag("low", "1");
+        BDDMockito.then(span).should().error(any(RuntimeException.class));
+        BDDMockito.then(span).shouldHaveNoMoreInteractions();
+    }
+
 }
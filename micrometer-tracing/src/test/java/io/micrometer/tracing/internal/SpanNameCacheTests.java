@@ -0,0 +1,70 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+class SpanNameCacheTests {
+
+    @Test
+    void should_convert_a_name_once() {
+        SpanNameCache cache = new SpanNameCache(10);
+
+        then(cache.toLowerHyphen("aMethodName")).isEqualTo("a-method-name");
+        then(cache.toLowerHyphen("aMethodName")).isEqualTo("a-method-name");
+
+        then(cache.missCount()).isEqualTo(1);
+        then(cache.hitCount()).isEqualTo(1);
+        then(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_cache_names_above_max_size() {
+        SpanNameCache cache = new SpanNameCache(2);
+
+        for (int i = 0; i < 10; i++) {
+            then(cache.toLowerHyphen("someName" + i)).isEqualTo("some-name" + i);
+        }
+        then(cache.toLowerHyphen("someName9")).isEqualTo("some-name9");
+
+        then(cache.size()).isEqualTo(2);
+        then(cache.missCount()).isEqualTo(11);
+        then(cache.hitCount()).isZero();
+    }
+
+    @Test
+    void should_bind_cache_metrics() {
+        SpanNameCache cache = new SpanNameCache(10);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new SpanNameCacheMetrics(cache, Tags.of("cache", "test")).bindTo(registry);
+
+        cache.toLowerHyphen("someName");
+        cache.toLowerHyphen("someName");
+        cache.toLowerHyphen("someName");
+
+        then(registry.get("tracing.span.name.cache.requests").tag("result", "hit").functionCounter().count())
+            .isEqualTo(2);
+        then(registry.get("tracing.span.name.cache.requests").tag("result", "miss").functionCounter().count())
+            .isEqualTo(1);
+        then(registry.get("tracing.span.name.cache.size").tag("cache", "test").gauge().value()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.micrometer.tracing.Baggage;
+import io.micrometer.tracing.CurrentTraceContext;
+import io.micrometer.tracing.TraceContext;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.logging.log4j2.TraceContextDataProvider;
+import io.micrometer.tracing.logging.logback.TraceContextConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class LogCorrelationTests {
+
+    Tracer tracer = mock(Tracer.class);
+
+    CurrentTraceContext currentTraceContext = mock(CurrentTraceContext.class);
+
+    TraceContext traceContext = mock(TraceContext.class);
+
+    Baggage baggage = mock(Baggage.class);
+
+    @BeforeEach
+    void setup() {
+        given(tracer.currentTraceContext()).willReturn(currentTraceContext);
+        given(traceContext.traceId()).willReturn("4bf92f3577b34da6a3ce929d0e0e4736");
+        given(traceContext.spanId()).willReturn("00f067aa0ba902b7");
+        given(baggage.get()).willReturn("bar");
+        given(tracer.getBaggage("foo")).willReturn(baggage);
+        LogCorrelation.register(tracer, "traceId", "spanId", Arrays.asList("foo", "foo2"));
+    }
+
+    @AfterEach
+    void cleanup() {
+        LogCorrelation.unregister();
+    }
+
+    @Test
+    void shouldReadValuesOfCurrentTraceContext() {
+        given(currentTraceContext.context()).willReturn(traceContext);
+
+        LogCorrelation correlation = LogCorrelation.current();
+
+        then(correlation.get("traceId")).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        then(correlation.get("spanId")).isEqualTo("00f067aa0ba902b7");
+        then(correlation.get("FOO")).isEqualTo("bar");
+        then(correlation.get("foo2")).isNull();
+        then(correlation.get("unknown")).isNull();
+    }
+
+    @Test
+    void shouldNotReadBaggageWithoutCurrentTraceContext() {
+        LogCorrelation correlation = LogCorrelation.current();
+
+        then(correlation.get("traceId")).isNull();
+        then(correlation.get("foo")).isNull();
+        then(new TraceContextDataProvider().supplyContextData()).isEmpty();
+        verifyNoInteractions(baggage);
+    }
+
+    @Test
+    void shouldSupplyLog4j2ContextData() {
+        given(currentTraceContext.context()).willReturn(traceContext);
+
+        then(new TraceContextDataProvider().supplyContextData()).containsOnlyKeys("traceId", "spanId", "foo")
+            .containsEntry("foo", "bar");
+    }
+
+    @Test
+    void shouldConvertLogbackEventWithCurrentTraceContext() {
+        given(currentTraceContext.context()).willReturn(traceContext);
+        LoggingEvent event = loggingEvent();
+
+        then(convert("traceId", event)).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        then(convert("foo2:-none", event)).isEqualTo("none");
+        then(convert(null, event))
+            .isEqualTo("traceId=4bf92f3577b34da6a3ce929d0e0e4736, spanId=00f067aa0ba902b7, foo=bar");
+    }
+
+    @Test
+    void shouldPreferValuesFromEventMdc() {
+        given(currentTraceContext.context()).willReturn(traceContext);
+        LoggingEvent event = loggingEvent();
+        event.setMDCPropertyMap(Collections.singletonMap("traceId", "fromMdc"));
+
+        then(convert("traceId", event)).isEqualTo("fromMdc");
+        then(convert("spanId", event)).isEqualTo("00f067aa0ba902b7");
+    }
+
+    @Test
+    void shouldOnlyWriteValuesCapturedInEventMdcWhenFormattedOnAnotherThread() throws Exception {
+        given(currentTraceContext.context()).willAnswer(invocation -> isLoggingThread() ? traceContext : null);
+        LoggingEvent withMdc = loggingEvent();
+        withMdc.setMDCPropertyMap(Collections.singletonMap("traceId", "fromMdc"));
+        LoggingEvent withoutMdc = loggingEvent();
+        withoutMdc.setMDCPropertyMap(Collections.emptyMap());
+        ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "async-appender"));
+
+        try {
+            then(worker.submit(() -> convert("traceId:-none", withMdc)).get()).isEqualTo("fromMdc");
+            then(worker.submit(() -> convert("traceId:-none", withoutMdc)).get()).isEqualTo("none");
+            then(worker.submit(() -> convert("spanId:-none", withMdc)).get()).isEqualTo("none");
+        }
+        finally {
+            worker.shutdownNow();
+        }
+    }
+
+    private boolean isLoggingThread() {
+        return !"async-appender".equals(Thread.currentThread().getName());
+    }
+
+    private LoggingEvent loggingEvent() {
+        LoggerContext loggerContext = new LoggerContext();
+        return new LoggingEvent(LogCorrelationTests.class.getName(), loggerContext.getLogger("test"), Level.INFO,
+                "message", null, null);
+    }
+
+    private String convert(String option, LoggingEvent event) {
+        TraceContextConverter converter = new TraceContextConverter();
+        if (option != null) {
+            converter.setOptionList(Collections.singletonList(option));
+        }
+        converter.start();
+        return converter.convert(event);
+    }
+
+}
@@ -0,0 +1,235 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.sampler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.http.HttpRequest;
+import io.micrometer.tracing.http.HttpServerRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+import static org.assertj.core.data.Offset.offset;
+
+class TargetThroughputHttpSamplerTests {
+
+    AtomicLong nanoTime = new AtomicLong();
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void should_defer_decision_for_null_request() {
+        TargetThroughputHttpSampler sampler = sampler(10, 100);
+
+        then(sampler.trySample(null)).isNull();
+    }
+
+    @Test
+    void should_not_sample_more_than_the_target_per_second() {
+        TargetThroughputHttpSampler sampler = sampler(10, 100);
+
+        then(countSampled(sampler, request("GET", "/users/{id}"), 100)).isEqualTo(10);
+
+        tick(1);
+
+        then(countSampled(sampler, request("GET", "/users/{id}"), 100)).isEqualTo(10);
+    }
+
+    @Test
+    void should_share_the_target_fairly_between_routes_after_adjustment() {
+        TargetThroughputHttpSampler sampler = sampler(10, 100);
+        for (int second = 0; second < 5; second++) {
+            countSampled(sampler, request("GET", "/noisy"), 1_000);
+            countSampled(sampler, request("GET", "/quiet"), 2);
+            tick(1);
+        }
+
+        int quiet = 0;
+        int noisy = 0;
+        for (int second = 0; second < 5; second++) {
+            noisy += countSampled(sampler, request("GET", "/noisy"), 1_000);
+            quiet += countSampled(sampler, request("GET", "/quiet"), 2);
+            tick(1);
+        }
+
+        then(quiet).as("Quiet route is not starved").isEqualTo(10);
+        then(noisy).as("Noisy route gets what is left").isBetween(15, 40);
+    }
+
+    @Test
+    void should_use_a_shared_budget_above_max_keys() {
+        TargetThroughputHttpSampler sampler = new TargetThroughputHttpSampler(10, Duration.ofSeconds(5), 1,
+                HttpRequest::route, this.nanoTime::get);
+        new TargetThroughputHttpSamplerMetrics(sampler).bindTo(this.meterRegistry);
+
+        sampler.trySample(request("GET", "/first"));
+        sampler.trySample(request("GET", "/second"));
+
+        then(this.meterRegistry.find("tracing.sampler.probability").tag("route", "/first").gauge()).isNotNull();
+        then(this.meterRegistry.find("tracing.sampler.probability").tag("route", "/second").gauge()).isNull();
+        then(this.meterRegistry.find("tracing.sampler.probability")
+            .tag("route", TargetThroughputHttpSampler.OTHER)
+            .gauge()).isNotNull();
+    }
+
+    @Test
+    void should_expose_probabilities_and_rates_as_gauges() {
+        TargetThroughputHttpSampler sampler = sampler(10, 100);
+        for (int second = 0; second < 5; second++) {
+            countSampled(sampler, request("GET", "/noisy"), 100);
+            tick(1);
+        }
+        sampler.trySample(request("GET", "/noisy"));
+
+        then(this.meterRegistry.get("tracing.sampler.probability").tag("route", "/noisy").gauge().value())
+            .isCloseTo(0.1, offset(0.01));
+        then(this.meterRegistry.get("tracing.sampler.sampled").tag("route", "/noisy").gauge().value())
+            .isCloseTo(10, offset(0.5));
+    }
+
+    @Test
+    void should_not_use_up_the_route_budget_on_requests_rejected_by_the_global_limit() {
+        TargetThroughputHttpSampler sampler = sampler(10, 100);
+        countSampled(sampler, request("GET", "/noisy"), 10);
+        this.nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        then(countSampled(sampler, request("GET", "/quiet"), 100)).isZero();
+
+        // the global limit resets before the limit of the quiet route does
+        this.nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        then(countSampled(sampler, request("GET", "/quiet"), 100)).isEqualTo(10);
+    }
+
+    @Test
+    void should_register_gauges_of_budgets_created_before_binding() {
+        TargetThroughputHttpSampler sampler = new TargetThroughputHttpSampler(10, Duration.ofSeconds(5), 100,
+                HttpRequest::route, this.nanoTime::get);
+        sampler.trySample(request("GET", "/first"));
+
+        new TargetThroughputHttpSamplerMetrics(sampler).bindTo(this.meterRegistry);
+        sampler.trySample(request("GET", "/second"));
+
+        then(this.meterRegistry.find("tracing.sampler.probability").tag("route", "/first").gauge()).isNotNull();
+        then(this.meterRegistry.find("tracing.sampler.probability").tag("route", "/second").gauge()).isNotNull();
+        then(this.meterRegistry.get("tracing.sampler.sampled").tag("route", "/first").gauge().getId().getBaseUnit())
+            .isEqualTo("requests");
+    }
+
+    @Test
+    void should_reject_max_keys_below_one() {
+        thenThrownBy(() -> new TargetThroughputHttpSampler(10, Duration.ofSeconds(5), 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_use_the_shared_budget_for_requests_without_route() {
+        TargetThroughputHttpSampler sampler = sampler(10, 100);
+
+        sampler.trySample(request("GET", "/users/1", null));
+        sampler.trySample(request("GET", "/users/2", null));
+
+        then(this.meterRegistry.find("tracing.sampler.probability").tag("route", "/users/1").gauge()).isNull();
+        then(this.meterRegistry.find("tracing.sampler.probability").meters()).hasSize(1);
+        then(this.meterRegistry.find("tracing.sampler.probability")
+            .tag("route", TargetThroughputHttpSampler.OTHER)
+            .gauge()).isNotNull();
+    }
+
+    @Test
+    void should_use_the_route_resolver_for_requests_without_route() {
+        Function<HttpRequest, String> routeResolver = request -> request.path().replaceAll("/\\d+", "/{id}");
+        TargetThroughputHttpSampler sampler = new TargetThroughputHttpSampler(10, Duration.ofSeconds(5), 100,
+                routeResolver, this.nanoTime::get);
+        new TargetThroughputHttpSamplerMetrics(sampler).bindTo(this.meterRegistry);
+
+        sampler.trySample(request("GET", "/users/1", null));
+        sampler.trySample(request("GET", "/users/2", null));
+
+        then(this.meterRegistry.find("tracing.sampler.probability").tag("route", "/users/{id}").gauge()).isNotNull();
+        then(this.meterRegistry.find("tracing.sampler.probability").meters()).hasSize(2);
+    }
+
+    private TargetThroughputHttpSampler sampler(int targetPerSecond, int maxKeys) {
+        TargetThroughputHttpSampler sampler = new TargetThroughputHttpSampler(targetPerSecond, Duration.ofSeconds(5),
+                maxKeys, HttpRequest::route, this.nanoTime::get);
+        new TargetThroughputHttpSamplerMetrics(sampler).bindTo(this.meterRegistry);
+        return sampler;
+    }
+
+    private void tick(int seconds) {
+        this.nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    private static int countSampled(TargetThroughputHttpSampler sampler, HttpServerRequest request, int requests) {
+        int sampled = 0;
+        for (int i = 0; i < requests; i++) {
+            sampled += Boolean.TRUE.equals(sampler.trySample(request)) ? 1 : 0;
+        }
+        return sampled;
+    }
+
+    private static HttpServerRequest request(String method, String route) {
+        return request(method, route, route);
+    }
+
+    private static HttpServerRequest request(String method, String path, String route) {
+        return new HttpServerRequest() {
+            @Override
+            public String method() {
+                return method;
+            }
+
+            @Override
+            public String path() {
+                return path;
+            }
+
+            @Override
+            public String route() {
+                return route;
+            }
+
+            @Override
+            public String url() {
+                return "https://localhost" + path;
+            }
+
+            @Override
+            public String header(String name) {
+                return null;
+            }
+
+            @Override
+            public Collection<String> headerNames() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public Object unwrap() {
+                return this;
+            }
+        };
+    }
+
+}
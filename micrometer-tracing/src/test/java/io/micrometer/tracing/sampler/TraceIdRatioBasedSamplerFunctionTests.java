@@ -0,0 +1,93 @@
+/**
+ * Copyright 2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.tracing.sampler;
+
+import io.micrometer.tracing.internal.EncodingUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.BDDAssertions.then;
+
+class TraceIdRatioBasedSamplerFunctionTests {
+
+    private static final Random RANDOM = new Random();
+
+    @Test
+    void should_sample_all_traces_when_ratio_is_1() {
+        TraceIdRatioBasedSamplerFunction samplerFunction = TraceIdRatioBasedSamplerFunction.create(1.0);
+
+        for (int i = 0; i < 10; i++) {
+            then(samplerFunction.isSampled(RANDOM.nextLong() >>> 1)).isTrue();
+        }
+    }
+
+    @Test
+    void should_not_sample_any_trace_when_ratio_is_0() {
+        TraceIdRatioBasedSamplerFunction samplerFunction = TraceIdRatioBasedSamplerFunction.create(0.0);
+
+        for (int i = 0; i < 10; i++) {
+            then(samplerFunction.isSampled(RANDOM.nextLong())).isFalse();
+        }
+        then(samplerFunction.isSampled(Long.MIN_VALUE)).isFalse();
+    }
+
+    @Test
+    void should_take_the_same_decision_for_the_same_trace_id() {
+        TraceIdRatioBasedSamplerFunction samplerFunction = TraceIdRatioBasedSamplerFunction.create(0.5);
+
+        for (int i = 0; i < 100; i++) {
+            long high = RANDOM.nextLong();
+            long low = RANDOM.nextLong();
+            boolean decision = samplerFunction.isSampled(low);
+
+            then(samplerFunction.trySample(EncodingUtils.fromLongs(high, low))).isEqualTo(decision);
+            then(samplerFunction.trySample(EncodingUtils.fromLong(low))).isEqualTo(decision);
+            then(TraceIdRatioBasedSamplerFunction.create(0.5).isSampled(low)).isEqualTo(decision);
+        }
+    }
+
+    @Test
+    void should_sample_roughly_the_given_ratio_of_traces() {
+        TraceIdRatioBasedSamplerFunction samplerFunction = TraceIdRatioBasedSamplerFunction.create(0.1);
+        int sampled = 0;
+
+        for (int i = 0; i < 100_000; i++) {
+            sampled += samplerFunction.isSampled(RANDOM.nextLong()) ? 1 : 0;
+        }
+
+        then(sampled).isBetween(9_000, 11_000);
+    }
+
+    @Test
+    void should_defer_decision_for_missing_or_malformed_trace_id() {
+        TraceIdRatioBasedSamplerFunction samplerFunction = TraceIdRatioBasedSamplerFunction.create(1.0);
+
+        then(samplerFunction.trySample(null)).isNull();
+        then(samplerFunction.trySample("abc")).isNull();
+        then(samplerFunction.trySample("zzzzzzzzzzzzzzzz")).isNull();
+    }
+
+    @Test
+    void should_fail_for_ratio_out_of_range() {
+        assertThatThrownBy(() -> TraceIdRatioBasedSamplerFunction.create(1.5))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TraceIdRatioBasedSamplerFunction.create(-0.1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}